@@ -0,0 +1,157 @@
+package io.yurelle.benchmarks;
+
+import io.yurelle.Base45;
+import io.yurelle.Base45Checksums;
+import io.yurelle.Base45Codec;
+import io.yurelle.Base45Transcoder;
+import io.yurelle.Base45Parallel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Baseline for every public encode/decode entry point of {@link Base45}.
+ *
+ * Sizes run from 16 B to 16 MB, with an odd length next to each even one, so the
+ * trailing single byte (encode) and trailing pair (decode) paths are covered.
+ *
+ * The InputStream benchmarks include wrapping the input in a ByteArrayInputStream,
+ * as any caller would have to.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base45Benchmark {
+    @Param({"16", "17", "1024", "1025", "65536", "65537", "1048576", "1048577", "16777216", "16777217"})
+    public int size;
+
+    private byte[] payload;
+    private String encodedStr;
+    private byte[] encodedBytes;
+    private char[] encodedChars;
+    private String base64Str;
+
+    //Reused output buffers for the allocation free entry points
+    private byte[] asciiOut;
+    private byte[] bytesOut;
+
+    @Setup
+    public void setup() throws IOException {
+        payload = new byte[size];
+        new Random(1234).nextBytes(payload);
+
+        encodedStr = Base45.encode(payload);
+        encodedBytes = encodedStr.getBytes(StandardCharsets.US_ASCII);
+        encodedChars = encodedStr.toCharArray();
+        base64Str = Base64.getEncoder().encodeToString(payload);
+
+        asciiOut = new byte[encodedBytes.length];
+        bytesOut = new byte[size];
+    }
+
+    @Benchmark
+    public String encodeBytes() throws IOException {
+        return Base45.encode(payload);
+    }
+
+    @Benchmark
+    public String encodeInputStream() throws IOException {
+        return Base45.encode(new ByteArrayInputStream(payload));
+    }
+
+    @Benchmark
+    public byte[] decodeString() throws IOException {
+        return Base45.decode(encodedStr);
+    }
+
+    @Benchmark
+    public byte[] encodeToAscii() {
+        return Base45.encodeToAscii(payload);
+    }
+
+    @Benchmark
+    public byte[] decodeCharArray() {
+        return Base45.decode(encodedChars, 0, encodedChars.length);
+    }
+
+    //Fused checksum, vs. a second pass over the payload
+    @Benchmark
+    public long encodeWithChecksum() {
+        final CRC32 crc = new CRC32();
+        Base45Checksums.encode(payload, 0, payload.length, asciiOut, 0, crc);
+        return crc.getValue();
+    }
+
+    @Benchmark
+    public long encodeThenChecksum() {
+        final CRC32 crc = new CRC32();
+        Base45.encode(payload, 0, payload.length, asciiOut, 0);
+        crc.update(payload, 0, payload.length);
+        return crc.getValue();
+    }
+
+    //Base64 -> Base45, vs. decoding the whole payload first
+    @Benchmark
+    public String transcodeBase64() {
+        return Base45Transcoder.base64ToBase45(base64Str);
+    }
+
+    @Benchmark
+    public String transcodeBase64TwoStep() {
+        return Base45Codec.DEFAULT.encode(Base64.getDecoder().decode(base64Str));
+    }
+
+    @Benchmark
+    public byte[] decodeInputStream() throws IOException {
+        return Base45.decode(new ByteArrayInputStream(encodedBytes));
+    }
+
+    @Benchmark
+    public String encodeParallel() {
+        return Base45Parallel.encode(payload);
+    }
+
+    @Benchmark
+    public byte[] decodeParallel() {
+        return Base45Parallel.decode(encodedStr);
+    }
+
+    @Benchmark
+    public int encodeBuffer() {
+        return Base45.encode(payload, 0, payload.length, asciiOut, 0);
+    }
+
+    @Benchmark
+    public int encodeFast() {
+        return Base45.encodeFast(payload, 0, payload.length, asciiOut, 0);
+    }
+
+    @Benchmark
+    public int decodeBuffer() {
+        return Base45.decode(encodedBytes, 0, encodedBytes.length, bytesOut, 0);
+    }
+
+    @Benchmark
+    public int decodeFast() {
+        return Base45.decodeFast(encodedBytes, 0, encodedBytes.length, bytesOut, 0);
+    }
+}
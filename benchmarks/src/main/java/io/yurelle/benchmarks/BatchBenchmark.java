@@ -0,0 +1,81 @@
+package io.yurelle.benchmarks;
+
+import io.yurelle.Base45;
+import io.yurelle.Base45Batch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many small payloads (40 - 200 bytes, like QR tokens): one call per payload,
+ * versus a single {@link Base45Batch}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+    @Param({"1000", "100000"})
+    public int count;
+
+    private byte[][] payloads;
+    private Base45Batch batch;
+    private Base45Batch encodedBatch;
+    private String[] encodedStrs;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random rand = new Random(1234);
+        payloads = new byte[count][];
+        encodedStrs = new String[count];
+        for (int x = 0; x < count; x++) {
+            payloads[x] = new byte[40 + rand.nextInt(161)];
+            rand.nextBytes(payloads[x]);
+            encodedStrs[x] = Base45.encode(payloads[x]);
+        }
+        batch = Base45Batch.of(payloads);
+        encodedBatch = batch.encode();
+    }
+
+    @Benchmark
+    public String[] encodeEach() throws IOException {
+        final String[] out = new String[count];
+        for (int x = 0; x < count; x++) {
+            out[x] = Base45.encode(payloads[x]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public Base45Batch encodeBatch() {
+        return batch.encode();
+    }
+
+    @Benchmark
+    public byte[][] decodeEach() throws IOException {
+        final byte[][] out = new byte[count][];
+        for (int x = 0; x < count; x++) {
+            out[x] = Base45.decode(encodedStrs[x]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public Base45Batch decodeBatch() {
+        return encodedBatch.decode();
+    }
+}
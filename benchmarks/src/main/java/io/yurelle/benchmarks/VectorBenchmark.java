@@ -0,0 +1,85 @@
+package io.yurelle.benchmarks;
+
+import io.yurelle.Base45;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar vs SIMD engine, for the entry points which use it.
+ *
+ * The same benchmark runs in two forks: one with the jdk.incubator.vector module enabled
+ * (SIMD, on Java 17+), and one with it explicitly disabled (scalar). Each fork logs which
+ * engine it actually ran.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class VectorBenchmark {
+    @Param({"16", "1024", "65536", "1048576"})
+    public int size;
+
+    private byte[] encodedBytes;
+    private byte[] decoded;
+
+    @Setup
+    public void setup() throws IOException {
+        final byte[] payload = new byte[size];
+        new Random(1234).nextBytes(payload);
+        encodedBytes = Base45.encode(payload).getBytes(StandardCharsets.US_ASCII);
+        decoded = new byte[size];
+
+        System.out.println("\nengine: " + (Base45.isVectorEngineEnabled() ? "SIMD" : "scalar"));
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public long validateSimd() {
+        return Base45.validate(encodedBytes, 0, encodedBytes.length);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Dio.yurelle.base45.vector=false"})
+    public long validateScalar() {
+        return Base45.validate(encodedBytes, 0, encodedBytes.length);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public int decodeSimd() {
+        return Base45.decode(encodedBytes, 0, encodedBytes.length, decoded, 0);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Dio.yurelle.base45.vector=false"})
+    public int decodeScalar() {
+        return Base45.decode(encodedBytes, 0, encodedBytes.length, decoded, 0);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public int decodeFastSimd() {
+        return Base45.decodeFast(encodedBytes, 0, encodedBytes.length, decoded, 0);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Dio.yurelle.base45.vector=false"})
+    public int decodeFastScalar() {
+        return Base45.decodeFast(encodedBytes, 0, encodedBytes.length, decoded, 0);
+    }
+}
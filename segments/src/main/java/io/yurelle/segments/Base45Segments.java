@@ -0,0 +1,178 @@
+package io.yurelle.segments;
+
+import io.yurelle.Base45;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+
+import static io.yurelle.SecureLookupWrapper.doLookup;
+import static io.yurelle.SecureLookupWrapper.doReverseLookup;
+import static io.yurelle.SecureLookupWrapper.doTripletLookup;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+/**
+ * Base45 codec for off-heap memory (Java 22+ Foreign Function & Memory API).
+ *
+ * Reads from & writes to the segments directly, with long offsets; so segments
+ * from shared arenas, or mapped files (FileChannel.map(mode, offset, size, arena)),
+ * of any size, are transcoded without being copied onto the heap.
+ *
+ * Ships as its own artifact (Base45Encoder-segments), since the main JAR targets
+ * Java 8. Error locations beyond 2 GB are clamped to Integer.MAX_VALUE, like the
+ * rest of the library. The source & destination must not overlap.
+ */
+public final class Base45Segments {
+    private Base45Segments() {
+    }
+
+    /**
+     * Long version of {@link Base45#encodedLength(int)}.
+     *
+     * @throws IllegalArgumentException If the length is negative, or the result would not fit in a long.
+     */
+    public static long encodedLength(final long numBytes) throws IllegalArgumentException {
+        if (numBytes < 0) {
+            throw new IllegalArgumentException("Invalid length '" + numBytes + "'! Length cannot be negative.");
+        }
+        if (numBytes / 2 > (Long.MAX_VALUE - 2) / 3) {
+            throw new IllegalArgumentException("Input of '" + numBytes + "' bytes is too large! Encoded length exceeds max segment size.");
+        }
+        return (numBytes / 2) * 3 + (numBytes % 2) * 2;
+    }
+
+    /**
+     * Long version of {@link Base45#decodedLength(int)}.
+     *
+     * @throws IllegalArgumentException If the length is negative, or is not a valid Base45 length.
+     */
+    public static long decodedLength(final long numChars) throws IllegalArgumentException {
+        if (numChars < 0) {
+            throw new IllegalArgumentException("Invalid length '" + numChars + "'! Length cannot be negative.");
+        }
+        if (numChars % 3 == 1) {
+            throw new IllegalArgumentException("Invalid length '" + numChars + "'! Base45 input cannot end with a single trailing character.");
+        }
+        return (numChars / 3) * 2 + (numChars % 3) / 2;
+    }
+
+    /**
+     * @return A new segment from the allocator, holding the ASCII Base45 encoding of src.
+     */
+    public static MemorySegment encode(final MemorySegment src, final SegmentAllocator allocator) {
+        final MemorySegment dst = allocator.allocate(encodedLength(src.byteSize()));
+        encode(src, dst);
+        return dst;
+    }
+
+    /**
+     * @return A new segment from the allocator, holding the decoded bytes of the ASCII Base45 src.
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     */
+    public static MemorySegment decode(final MemorySegment src, final SegmentAllocator allocator) throws IllegalArgumentException {
+        final MemorySegment dst = allocator.allocate(decodedLength(src.byteSize()));
+        decode(src, dst);
+        return dst;
+    }
+
+    /**
+     * Encodes all of src into the start of dst, as ASCII bytes.
+     *
+     * @return The number of ASCII bytes written into dst.
+     * @throws IndexOutOfBoundsException If dst is too small.
+     */
+    public static long encode(final MemorySegment src, final MemorySegment dst) throws IndexOutOfBoundsException {
+        final long len = src.byteSize();
+        checkSize(dst, encodedLength(len));
+
+        final long pairEnd = len & ~1L;
+        long s = 0;
+        long o = 0;
+        while (s < pairEnd) {
+            //Unified Bytes
+            final int n = ((src.get(JAVA_BYTE, s) & 0xFF) << 8) | (src.get(JAVA_BYTE, s + 1) & 0xFF);
+            s += 2;
+
+            final int cde = doTripletLookup(n, toLocation(s));
+            dst.set(JAVA_BYTE, o,     (byte) cde);
+            dst.set(JAVA_BYTE, o + 1, (byte) (cde >>> 8));
+            dst.set(JAVA_BYTE, o + 2, (byte) (cde >>> 16));
+            o += 3;
+        }
+
+        if (s < len) {//Only One Source Byte
+            final int a = src.get(JAVA_BYTE, s++) & 0xFF;
+
+            //Output
+            final int bytesRead = toLocation(s);
+            dst.set(JAVA_BYTE, o++, (byte) doLookup(a % 45, bytesRead));
+            dst.set(JAVA_BYTE, o++, (byte) doLookup(a / 45, bytesRead));
+        }
+        return o;
+    }
+
+    /**
+     * Decodes all of the ASCII Base45 src into the start of dst.
+     *
+     * @return The number of bytes written into dst.
+     * @throws IllegalArgumentException If the input is not valid Base45. In that case, the contents of dst are undefined.
+     * @throws IndexOutOfBoundsException If dst is too small.
+     */
+    public static long decode(final MemorySegment src, final MemorySegment dst) throws IllegalArgumentException, IndexOutOfBoundsException {
+        final long len = src.byteSize();
+        checkSize(dst, (len / 3) * 2 + (len % 3) / 2);
+
+        final long tripletEnd = (len / 3) * 3;
+        long s = 0;
+        long o = 0;
+        while (s < tripletEnd) {
+            final int chunkIndex = toLocation(s);
+            final int c = doReverseLookup(src.get(JAVA_BYTE, s) & 0xFF, chunkIndex);
+            final int d = doReverseLookup(src.get(JAVA_BYTE, s + 1) & 0xFF, toLocation(s + 1));
+            final int e = doReverseLookup(src.get(JAVA_BYTE, s + 2) & 0xFF, toLocation(s + 2));
+            s += 3;
+
+            //Combine Bytes
+            final int accumulator = c + (d * 45) + (e * 45 * 45);
+
+            //Security check outlined in the standard; See: Section 6, Paragraph 5.
+            if (accumulator > 0xFFFF) {
+                throw overflow(accumulator, chunkIndex);
+            }
+
+            dst.set(JAVA_BYTE, o,     (byte) (accumulator >> 8));
+            dst.set(JAVA_BYTE, o + 1, (byte) accumulator);
+            o += 2;
+        }
+
+        if (s < len) {
+            final int chunkIndex = toLocation(s);
+            final int c = doReverseLookup(src.get(JAVA_BYTE, s) & 0xFF, chunkIndex);
+
+            //There must be a minimum of 2 bytes, if not, then it's an error.
+            //See: Section 4, Paragraphs 6 & 7
+            if (s + 1 >= len) {
+                throw new IllegalArgumentException("Unexpected end of input at index '" + toLocation(s + 1) + "'! Parser expected at least one more byte.");
+            }
+            final int d = doReverseLookup(src.get(JAVA_BYTE, s + 1) & 0xFF, toLocation(s + 1));
+
+            dst.set(JAVA_BYTE, o++, (byte) (c + (d * 45)));
+        }
+        return o;
+    }
+
+    private static void checkSize(final MemorySegment dst, final long required) throws IndexOutOfBoundsException {
+        if (dst.byteSize() < required) {
+            throw new IndexOutOfBoundsException("Destination segment of '" + dst.byteSize() + "' bytes is too small! Requires '" + required + "' bytes.");
+        }
+    }
+
+    //Same as the main library's; so errors read the same as Base45.decode()'s
+    private static IllegalArgumentException overflow(final int accumulator, final int chunkIndex) {
+        return new IllegalArgumentException("Parsing Failed! Parsed value '" + accumulator + "' of Base45 chunk at index '" + chunkIndex + "' exceeds double-byte max value of 64K (i.e. 65,535; or 0xFFFF).");
+    }
+
+    //Error locations are reported as an int; anything beyond that is clamped.
+    private static int toLocation(final long position) {
+        return (int) Math.min(position, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,75 @@
+import io.yurelle.Base45;
+import io.yurelle.segments.Base45Segments;
+import org.junit.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static org.junit.Assert.*;
+
+/**
+ * Base45Segments must give the same results & errors as the byte[] codec in the main library.
+ */
+public class Base45SegmentsTest {
+    @Test
+    public void roundTripTest() throws Exception {
+        final Random rand = new Random(1234);
+        try (Arena arena = Arena.ofConfined()) {
+            for (int x=0; x<500; x++) {
+                final byte[] payload = new byte[rand.nextInt(1_000)];
+                rand.nextBytes(payload);
+                final byte[] expected = Base45.encode(payload).getBytes(StandardCharsets.US_ASCII);
+
+                final MemorySegment encoded = Base45Segments.encode(MemorySegment.ofArray(payload), arena);
+                assertArrayEquals(expected, encoded.toArray(JAVA_BYTE));
+
+                final MemorySegment decoded = Base45Segments.decode(encoded, arena);
+                assertArrayEquals(payload, decoded.toArray(JAVA_BYTE));
+            }
+        }
+    }
+
+    @Test
+    public void invalidInputTest() {
+        //Invalid char, overflow, truncated; and a valid one, which must not fail either
+        for (final String input : new String[] {"AB$C a", "GGW", "0000", "%69 VD92EX0"}) {
+            final byte[] ascii = input.getBytes(StandardCharsets.ISO_8859_1);
+            String expected = null;
+            try {
+                Base45.decode(ascii, 0, ascii.length, new byte[ascii.length], 0);
+            } catch (IllegalArgumentException e) {
+                expected = e.getMessage();
+            }
+
+            String actual = null;
+            try {
+                Base45Segments.decode(MemorySegment.ofArray(ascii), MemorySegment.ofArray(new byte[ascii.length]));
+            } catch (IllegalArgumentException e) {
+                actual = e.getMessage();
+            }
+            assertEquals("Input: " + input, expected, actual);
+        }
+    }
+
+    @Test
+    public void lengthTest() {
+        assertEquals(Base45.encodedLength(7), Base45Segments.encodedLength(7));
+        assertEquals(3L * (1L << 31), Base45Segments.encodedLength(1L << 32));
+        assertEquals(1L << 32, Base45Segments.decodedLength(3L * (1L << 31)));
+
+        try {
+            Base45Segments.decodedLength(4);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void destinationTooSmallTest() {
+        Base45Segments.encode(MemorySegment.ofArray(new byte[4]), MemorySegment.ofArray(new byte[5]));
+    }
+}
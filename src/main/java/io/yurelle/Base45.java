@@ -1,12 +1,19 @@
 package io.yurelle;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import static io.yurelle.SecureLookupWrapper.doLookup;
 import static io.yurelle.SecureLookupWrapper.doReverseLookup;
+import static io.yurelle.SecureLookupWrapper.doTripletLookup;
+import static io.yurelle.SecureLookupWrapper.tryReverseLookup;
 
 /**
  * Java implementation of the Base45 Standard outlined here:
@@ -16,31 +23,138 @@ import static io.yurelle.SecureLookupWrapper.doReverseLookup;
  * provided in the spec, along with several others.
  */
 public class Base45 {
+    /** Failure reason reported by tryDecode() & validate(): Character outside of the Base45 alphabet. */
+    public static final int ERROR_INVALID_CHAR = 1;
+
+    /** Failure reason reported by tryDecode() & validate(): Triplet value exceeds 0xFFFF. */
+    public static final int ERROR_OVERFLOW = 2;
+
+    /** Failure reason reported by tryDecode() & validate(): Input ends with a single trailing character. */
+    public static final int ERROR_TRUNCATED = 3;
+
     public static String encode(final byte[] inputData) throws IOException {
-        return encode(new ByteArrayInputStream(inputData));
+        return Base45Codec.DEFAULT.encode(inputData);
     }
 
-    //
-    //Variable names match those used in the encoding examples provided in the standard.
-    //See: Section 4(.0)
-    //
-    public static String encode(final InputStream in) throws IOException {
-        final StringBuilder strOut = new StringBuilder();
+    /**
+     * Encodes straight into ASCII bytes; e.g. for a socket or a file, where a String
+     * would only be converted back into bytes.
+     */
+    public static byte[] encodeToAscii(final byte[] inputData) {
+        return Base45Codec.DEFAULT.encodeToAscii(inputData);
+    }
 
-        int bytesRead = 0;
-        while(in.available() > 0) {
-            //First Byte
-            int a = in.read();
-            bytesRead++;
+    /**
+     * Encodes into out (e.g. a StringBuilder or Writer), a window at a time; without building the whole String.
+     *
+     * @return out
+     */
+    public static <A extends Appendable> A encodeTo(final byte[] inputData, final A out) throws IOException {
+        return Base45Codec.DEFAULT.encodeTo(inputData, out);
+    }
 
-            //Odd-Even Check
-            if (in.available() > 0) {//Two Source Bytes
-                //Second Byte
-                int b = in.read();
-                bytesRead++;
+    /**
+     * Number of Base45 characters produced when encoding the given number of bytes.
+     *
+     * Every 2 bytes become 3 characters, and a trailing odd byte becomes 2 characters.
+     * See: Section 4, Paragraph 6
+     *
+     * @param numBytes Number of source bytes.
+     * @return Number of encoded characters (i.e. ASCII bytes).
+     * @throws IllegalArgumentException If the length is negative, or the result would not fit in an int.
+     */
+    public static int encodedLength(final int numBytes) throws IllegalArgumentException {
+        if (numBytes < 0) {
+            throw new IllegalArgumentException("Invalid length '" + numBytes + "'! Length cannot be negative.");
+        }
+
+        final long len = ((long) numBytes / 2) * 3 + (numBytes % 2) * 2;
+        if (len > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Input of '" + numBytes + "' bytes is too large! Encoded length '" + len + "' exceeds max array size.");
+        }
+        return (int) len;
+    }
+
+    /**
+     * Number of bytes produced when decoding the given number of Base45 characters.
+     *
+     * Every 3 characters become 2 bytes, and a trailing pair of characters becomes 1 byte.
+     * A single trailing character is not a valid encoding. See: Section 4, Paragraphs 6 & 7
+     *
+     * @param numChars Number of encoded characters.
+     * @return Number of decoded bytes.
+     * @throws IllegalArgumentException If the length is negative, or is not a valid Base45 length.
+     */
+    public static int decodedLength(final int numChars) throws IllegalArgumentException {
+        if (numChars < 0) {
+            throw new IllegalArgumentException("Invalid length '" + numChars + "'! Length cannot be negative.");
+        }
+        if (numChars % 3 == 1) {
+            throw new IllegalArgumentException("Invalid length '" + numChars + "'! Base45 input cannot end with a single trailing character.");
+        }
+        return (numChars / 3) * 2 + (numChars % 3) / 2;
+    }
+
+    /**
+     * Encodes a range of bytes directly into a caller supplied buffer of ASCII bytes.
+     * Nothing is allocated, so the buffers can be sized once with {@link #encodedLength(int)}
+     * and reused.
+     *
+     * @return The number of ASCII bytes written into dst.
+     * @throws IndexOutOfBoundsException If the source range is invalid, or dst is too small.
+     */
+    public static int encode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) throws IndexOutOfBoundsException {
+        return Base45Codec.DEFAULT.encode(src, off, len, dst, dstOff);
+    }
+
+    /**
+     * Decodes a range of Base45 ASCII bytes directly into a caller supplied buffer.
+     * Nothing is allocated, so the buffers can be sized once with {@link #decodedLength(int)}
+     * and reused.
+     *
+     * On Java 17+ with the jdk.incubator.vector module enabled, whole blocks of triplets
+     * are decoded on the SIMD engine; see {@link #isVectorEngineEnabled()}.
+     *
+     * @return The number of bytes written into dst.
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     * @throws IndexOutOfBoundsException If the source range is invalid, or dst is too small.
+     */
+    public static int decode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) throws IllegalArgumentException, IndexOutOfBoundsException {
+        return Base45Codec.DEFAULT.decode(src, off, len, dst, dstOff);
+    }
+
+    /**
+     * Encodes as many whole groups as fit from src into dst, as ASCII bytes, in the
+     * style of {@link java.nio.charset.CharsetEncoder#encode(java.nio.CharBuffer, ByteBuffer, boolean)}.
+     * Both buffer positions are advanced. Works with heap & direct buffers, and never
+     * copies through an intermediate array.
+     *
+     * @param endOfInput Whether src holds the final bytes of the input. If not, a trailing
+     *                   odd byte is left in src until more input arrives.
+     * @return {@link CoderResult#UNDERFLOW} once src has been consumed (apart from a held back
+     * odd byte), or {@link CoderResult#OVERFLOW} if dst needs more room.
+     */
+    public static CoderResult encode(final ByteBuffer src, final ByteBuffer dst, final boolean endOfInput) {
+        if (src.hasArray() && dst.hasArray()) {
+            //Heap buffers; run the array loop over the backing arrays
+            final int pairs = Math.min(src.remaining() / 2, dst.remaining() / 3);
+            final int numBytes = pairs * 2;
+            final int numChars = encodeBlock(src.array(), src.arrayOffset() + src.position(), numBytes, dst.array(), dst.arrayOffset() + dst.position(), src.position());
+            src.position(src.position() + numBytes);
+            dst.position(dst.position() + numChars);
+        }
+
+        int s = src.position();
+        int o = dst.position();
+        try {
+            while (src.limit() - s >= 2) {
+                if (dst.limit() - o < 3) {
+                    return CoderResult.OVERFLOW;
+                }
 
                 //Unified Bytes
-                int n = (a * 256) + b;
+                int n = ((src.get(s) & 0xFF) << 8) | (src.get(s + 1) & 0xFF);
+                s += 2;
 
                 //e
                 int e           = n / (45 * 45);
@@ -51,94 +165,556 @@ public class Base45 {
                 int c = e_remainder % 45;
 
                 //Output
-                strOut.append(doLookup(c, bytesRead));
-                strOut.append(doLookup(d, bytesRead));
-                strOut.append(doLookup(e, bytesRead));
+                dst.put(o++, (byte) doLookup(c, s));
+                dst.put(o++, (byte) doLookup(d, s));
+                dst.put(o++, (byte) doLookup(e, s));
+            }
 
-            } else {//Only One Source Byte
+            if (src.limit() - s == 1 && endOfInput) {//Only One Source Byte
+                if (dst.limit() - o < 2) {
+                    return CoderResult.OVERFLOW;
+                }
+                int a = src.get(s++) & 0xFF;
                 int c = a % 45;
                 int d = a / 45;
 
                 //Output
-                strOut.append(doLookup(c, bytesRead));
-                strOut.append(doLookup(d, bytesRead));
+                dst.put(o++, (byte) doLookup(c, s));
+                dst.put(o++, (byte) doLookup(d, s));
             }
+            return CoderResult.UNDERFLOW;
+        } finally {
+            src.position(s);
+            dst.position(o);
         }
-        return strOut.toString();
     }
 
-    public static byte[] decode(final String inputStr) throws IOException, IllegalArgumentException {
-        //Prep for InputStream
-        //
-        //The Encoding Specified in the Standard; See: Section 4, Paragraph 2
-        //https://datatracker.ietf.org/doc/html/rfc9285
-        final byte[] buf = inputStr.getBytes("US-ASCII");
+    /**
+     * Encodes all of src, as the final input. See: {@link #encode(ByteBuffer, ByteBuffer, boolean)}
+     */
+    public static CoderResult encode(final ByteBuffer src, final ByteBuffer dst) {
+        return encode(src, dst, true);
+    }
+
+    /**
+     * Decodes as many whole groups as fit from the ASCII bytes in src into dst, in the
+     * style of {@link java.nio.charset.CharsetDecoder#decode(ByteBuffer, java.nio.CharBuffer, boolean)}.
+     * Both buffer positions are advanced. Works with heap & direct buffers, and never
+     * copies through an intermediate array.
+     *
+     * Error locations are relative to the start of src.
+     *
+     * @param endOfInput Whether src holds the final chars of the input. If not, a partial
+     *                   triplet is left in src until more input arrives.
+     * @return {@link CoderResult#UNDERFLOW} once src has been consumed (apart from a held back
+     * partial triplet), or {@link CoderResult#OVERFLOW} if dst needs more room.
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     */
+    public static CoderResult decode(final ByteBuffer src, final ByteBuffer dst, final boolean endOfInput) throws IllegalArgumentException {
+        if (src.hasArray() && dst.hasArray()) {
+            //Heap buffers; run the array loop over the backing arrays
+            final int triplets = Math.min(src.remaining() / 3, dst.remaining() / 2);
+            final int numChars = triplets * 3;
+            final int numBytes = decodeBlock(src.array(), src.arrayOffset() + src.position(), numChars, dst.array(), dst.arrayOffset() + dst.position(), src.position());
+            src.position(src.position() + numChars);
+            dst.position(dst.position() + numBytes);
+        }
+
+        int s = src.position();
+        int o = dst.position();
+        try {
+            while (src.limit() - s >= 3) {
+                if (dst.limit() - o < 2) {
+                    return CoderResult.OVERFLOW;
+                }
+                int c = doReverseLookup(src.get(s) & 0xFF, s);
+                int d = doReverseLookup(src.get(s + 1) & 0xFF, s + 1);
+                int e = doReverseLookup(src.get(s + 2) & 0xFF, s + 2);
+
+                //Combine Bytes
+                int accumulator = c + (d * 45) + (e * 45 * 45);
+
+                //Security check outlined in the standard; See: Section 6, Paragraph 5.
+                if (accumulator > 0xFFFF) {
+                    throw overflow(accumulator, s);
+                }
+                s += 3;
 
-        return decode(new ByteArrayInputStream(buf));
+                dst.put(o++, (byte) (accumulator >> 8));
+                dst.put(o++, (byte) accumulator);
+            }
+
+            if (src.limit() - s > 0 && endOfInput) {
+                int c = doReverseLookup(src.get(s) & 0xFF, s);
+
+                //There must be a minimum of 2 bytes, if not, then it's an error.
+                //See: Section 4, Paragraphs 6 & 7
+                if (src.limit() - s < 2) {
+                    throw new IllegalArgumentException("Unexpected end of input at index '" + (s + 1) + "'! Parser expected at least one more byte.");
+                }
+                int d = doReverseLookup(src.get(s + 1) & 0xFF, s + 1);
+
+                if (dst.limit() - o < 1) {
+                    return CoderResult.OVERFLOW;
+                }
+                s += 2;
+                dst.put(o++, (byte) (c + (d * 45)));
+            }
+            return CoderResult.UNDERFLOW;
+        } finally {
+            src.position(s);
+            dst.position(o);
+        }
     }
 
-    //
-    //Variable names match those used in the decoding examples provided in the standard.
-    //See: Section 4(.0)
-    //
-    public static byte[] decode(final InputStream in) throws IOException, IllegalArgumentException {
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    /**
+     * Decodes all of src, as the final input. See: {@link #decode(ByteBuffer, ByteBuffer, boolean)}
+     */
+    public static CoderResult decode(final ByteBuffer src, final ByteBuffer dst) throws IllegalArgumentException {
+        return decode(src, dst, true);
+    }
+
+    /**
+     * Table-driven version of {@link #encode(byte[], int, int, byte[], int)}, which maps
+     * each 2 byte group to its 3 chars with a single lookup, instead of dividing it up.
+     *
+     * The 256 KB lookup table is built on first use.
+     *
+     * @return The number of ASCII bytes written into dst.
+     * @throws IndexOutOfBoundsException If the source range is invalid, or dst is too small.
+     */
+    public static int encodeFast(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) throws IndexOutOfBoundsException {
+        checkRange(src.length, off, len);
+        checkRange(dst.length, dstOff, encodedLength(len));
+
+        final int pairEnd = off + (len & ~1);
+        int s = off;
+        int o = dstOff;
+        while (s < pairEnd) {
+            //Unified Bytes
+            final int n = ((src[s] & 0xFF) << 8) | (src[s + 1] & 0xFF);
+            s += 2;
+
+            final int cde = doTripletLookup(n, s - off);
+            dst[o]     = (byte) cde;
+            dst[o + 1] = (byte) (cde >>> 8);
+            dst[o + 2] = (byte) (cde >>> 16);
+            o += 3;
+        }
+
+        //Only One Source Byte
+        o += encodeBlock(src, s, len & 1, dst, o, s - off);
+        return o - dstOff;
+    }
+
+    /**
+     * Branch free version of {@link #decode(byte[], int, int, byte[], int)}.
+     *
+     * The main loop has no data dependent branches: invalid chars & overflowing triplets
+     * are accumulated into a single flag, which is only checked once at the end. If it
+     * is set, the input is re-scanned with the regular decoder, to throw the exact same
+     * exception (and location) as {@link #decode(byte[], int, int, byte[], int)}. In
+     * that case, the contents of dst are undefined.
+     *
+     * On Java 17+ with the jdk.incubator.vector module enabled, whole blocks of triplets
+     * are decoded on the SIMD engine first; see {@link #isVectorEngineEnabled()}.
+     *
+     * @return The number of bytes written into dst.
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     * @throws IndexOutOfBoundsException If the source range is invalid, or dst is too small.
+     */
+    public static int decodeFast(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) throws IllegalArgumentException, IndexOutOfBoundsException {
+        checkRange(src.length, off, len);
+        checkRange(dst.length, dstOff, (len / 3) * 2 + (len % 3) / 2);
+
+        final int tripletEnd = off + (len / 3) * 3;
+
+        //Leading triplets on the SIMD engine, if in use; it stops short of any invalid block
+        int s = off + VectorSupport.decodeTriplets(src, off, tripletEnd - off, dst, dstOff);
+        int o = dstOff + ((s - off) / 3) * 2;
+
+        //Sign bit is set by any invalid char, or any accumulated value over 0xFFFF
+        int errorFlags = 0;
+        while (s < tripletEnd) {
+            final int c = tryReverseLookup(src[s] & 0xFF);
+            final int d = tryReverseLookup(src[s + 1] & 0xFF);
+            final int e = tryReverseLookup(src[s + 2] & 0xFF);
+            s += 3;
+
+            //Combine Bytes
+            final int accumulator = c + (d * 45) + (e * 45 * 45);
+
+            //Security checks outlined in the standard; See: Section 6, Paragraphs 4 & 5.
+            errorFlags |= c | d | e | (0xFFFF - accumulator);
+
+            dst[o]     = (byte) (accumulator >> 8);
+            dst[o + 1] = (byte) accumulator;
+            o += 2;
+        }
+
+        if (errorFlags < 0) {
+            //Re-scan to find & report the exact failure
+            decodeBlock(src, off, tripletEnd - off, dst, dstOff, 0);
+        }
+
+        //Trailing Pair
+        o += decodeBlock(src, s, len - (s - off), dst, o, s - off);
+        return o - dstOff;
+    }
+
+    /**
+     * Checks whether the input is valid Base45, without decoding it, allocating, or throwing.
+     *
+     * @return The decoded length if valid; otherwise a negative result, which can be broken
+     * down with {@link #errorReason(long)} & {@link #errorIndex(long)}.
+     */
+    public static long validate(final CharSequence input) {
+        return tryDecode(input, 0, input.length(), null, 0);
+    }
+
+    /**
+     * Checks whether the ASCII bytes are valid Base45, without decoding them, allocating, or throwing.
+     *
+     * On Java 17+ with the jdk.incubator.vector module enabled, the alphabet classification
+     * runs on the SIMD engine; see {@link #isVectorEngineEnabled()}.
+     *
+     * @return The decoded length if valid; otherwise a negative result, which can be broken
+     * down with {@link #errorReason(long)} & {@link #errorIndex(long)}.
+     * @throws IndexOutOfBoundsException If the source range is invalid.
+     */
+    public static long validate(final byte[] src, final int off, final int len) throws IndexOutOfBoundsException {
+        checkRange(src.length, off, len);
+
+        final Telemetry probe = Telemetry.begin();
+        final long result = validateBytes(src, off, len);
+        if (probe != null) {
+            probe.decoded(result, len);
+        }
+        return result;
+    }
+
+    private static long validateBytes(final byte[] src, final int off, final int len) {
+
+        //Whole input, up to the first invalid char
+        final int invalid = VectorSupport.findInvalidChar(src, off, len);
+        final int end = invalid < 0 ? off + len : invalid;
+
+        //Every char before end is known to be valid, so only the overflow check remains
+        final int tripletEnd = off + ((end - off) / 3) * 3;
+        for (int s = off; s < tripletEnd; s += 3) {
+            //c + (d * 45) is at most 2,024; so only an e of 32 or more can push a triplet past 0xFFFF.
+            final int e = tryReverseLookup(src[s + 2] & 0xFF);
+            if (e >= 32) {
+                final int accumulator = tryReverseLookup(src[s] & 0xFF) + (tryReverseLookup(src[s + 1] & 0xFF) * 45) + (e * 45 * 45);
+
+                //Security check outlined in the standard; See: Section 6, Paragraph 5.
+                if (accumulator > 0xFFFF) {
+                    return error(ERROR_OVERFLOW, s - off);
+                }
+            }
+        }
+
+        if (invalid >= 0) {
+            return error(ERROR_INVALID_CHAR, invalid - off);
+        }
+
+        //There must be a minimum of 2 bytes, if not, then it's an error.
+        //See: Section 4, Paragraphs 6 & 7
+        if (len % 3 == 1) {
+            return error(ERROR_TRUNCATED, len);
+        }
+        return (len / 3) * 2 + (len % 3) / 2;
+    }
+
+    /**
+     * Installs a metrics listener; or removes it, if null. See: {@link Base45Metrics}
+     */
+    public static void setMetrics(final Base45Metrics listener) {
+        Telemetry.setMetrics(listener);
+    }
+
+    /**
+     * @return The installed metrics listener; or null if there is none.
+     */
+    public static Base45Metrics getMetrics() {
+        return Telemetry.metrics;
+    }
+
+    /**
+     * @return Whether the SIMD (Vector API) engine is in use, for byte[] validation & decoding
+     * (encoding is always scalar). Requires a Java 17+ runtime, with the incubating vector
+     * module enabled: --add-modules jdk.incubator.vector
+     */
+    public static boolean isVectorEngineEnabled() {
+        return VectorSupport.isEnabled();
+    }
 
-        int bytesRead = 0;
-        while(in.available() > 0) {
-            //First byte
-            //
-            //Read in next char and translate back through lookup table
-            int c = doReverseLookup(in.read(), bytesRead);
-            bytesRead++;
+    /**
+     * Non-throwing version of {@link #decode(String)}, for inputs where rejections are common.
+     * Rejecting invalid input costs no more than accepting valid input; no exception, stack
+     * trace, or message is built.
+     *
+     * @param dst Output buffer; must have room for {@link #decodedLength(int)} bytes, or null to only validate.
+     * @return The number of bytes written if valid; otherwise a negative result, which can be broken
+     * down with {@link #errorReason(long)} & {@link #errorIndex(long)}. In that case, the contents of
+     * dst are undefined.
+     * @throws IndexOutOfBoundsException If the source range is invalid, or dst is too small.
+     */
+    public static long tryDecode(final CharSequence input, final int off, final int len, final byte[] dst, final int dstOff) throws IndexOutOfBoundsException {
+        checkRange(input.length(), off, len);
+        if (dst != null) {
+            checkRange(dst.length, dstOff, (len / 3) * 2 + (len % 3) / 2);
+        }
+
+        final Telemetry probe = Telemetry.begin();
+        final long result = tryDecodeChars(input, off, len, dst, dstOff);
+        if (probe != null) {
+            probe.decoded(result, len);
+        }
+        return result;
+    }
+
+    private static long tryDecodeChars(final CharSequence input, final int off, final int len, final byte[] dst, final int dstOff) {
+
+        final int tripletEnd = off + (len / 3) * 3;
+        int s = off;
+        int o = dstOff;
+        while (s < tripletEnd) {
+            final int c = tryReverseLookup(input.charAt(s));
+            final int d = tryReverseLookup(input.charAt(s + 1));
+            final int e = tryReverseLookup(input.charAt(s + 2));
+            if ((c | d | e) < 0) {
+                return error(ERROR_INVALID_CHAR, s - off + (c < 0 ? 0 : d < 0 ? 1 : 2));
+            }
+
+            //Combine Bytes
+            final int accumulator = c + (d * 45) + (e * 45 * 45);
+
+            //Security check outlined in the standard; See: Section 6, Paragraph 5.
+            if (accumulator > 0xFFFF) {
+                return error(ERROR_OVERFLOW, s - off);
+            }
+            if (dst != null) {
+                dst[o]     = (byte) (accumulator >> 8);
+                dst[o + 1] = (byte) accumulator;
+            }
+            s += 3;
+            o += 2;
+        }
+
+        if (s < off + len) {
+            final int c = tryReverseLookup(input.charAt(s));
+            if (c < 0) {
+                return error(ERROR_INVALID_CHAR, s - off);
+            }
 
-            //Check for expected value
-            //
             //There must be a minimum of 2 bytes, if not, then it's an error.
             //See: Section 4, Paragraphs 6 & 7
-            if (in.available() < 0) {
-                throw new IllegalArgumentException("Unexpected end of input at index '" + bytesRead + "'! Parser expected at least one more byte.");
+            if (s + 1 == off + len) {
+                return error(ERROR_TRUNCATED, len);
+            }
+            final int d = tryReverseLookup(input.charAt(s + 1));
+            if (d < 0) {
+                return error(ERROR_INVALID_CHAR, s - off + 1);
             }
+            if (dst != null) {
+                dst[o] = (byte) (c + (d * 45));
+            }
+            o++;
+        }
+        return o - dstOff;
+    }
+
+    /**
+     * Non-throwing version of {@link #decode(byte[], int, int, byte[], int)}.
+     * See: {@link #tryDecode(CharSequence, int, int, byte[], int)}
+     *
+     * @param dst Output buffer; must have room for {@link #decodedLength(int)} bytes, or null to only
+     * validate, the same as {@link #validate(byte[], int, int)}.
+     */
+    public static long tryDecode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) throws IndexOutOfBoundsException {
+        checkRange(src.length, off, len);
+        if (dst != null) {
+            checkRange(dst.length, dstOff, (len / 3) * 2 + (len % 3) / 2);
+        }
 
-            //Second byte
-            int d = doReverseLookup(in.read(), bytesRead);
-            bytesRead++;
+        final Telemetry probe = Telemetry.begin();
+        final long result = dst != null ? tryDecodeBytes(src, off, len, dst, dstOff) : validateBytes(src, off, len);
+        if (probe != null) {
+            probe.decoded(result, len);
+        }
+        return result;
+    }
+
+    private static long tryDecodeBytes(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
 
-            //Check for 3rd byte
-            boolean hasThirdByte = in.available() > 0;
-            int e = 0;
-            if (hasThirdByte) {//3rd Byte Exists
-                //Third byte
-                e = doReverseLookup(in.read(), bytesRead);
-                bytesRead++;
+        final int tripletEnd = off + (len / 3) * 3;
+        int s = off;
+        int o = dstOff;
+        while (s < tripletEnd) {
+            final int c = tryReverseLookup(src[s] & 0xFF);
+            final int d = tryReverseLookup(src[s + 1] & 0xFF);
+            final int e = tryReverseLookup(src[s + 2] & 0xFF);
+            if ((c | d | e) < 0) {
+                return error(ERROR_INVALID_CHAR, s - off + (c < 0 ? 0 : d < 0 ? 1 : 2));
             }
 
             //Combine Bytes
-            int accumulator = c + (d * 45) + (e * 45 * 45);
+            final int accumulator = c + (d * 45) + (e * 45 * 45);
 
             //Security check outlined in the standard; See: Section 6, Paragraph 5.
-            //
-            //Base45 triplets exceeding an accumulated value of 64K (i.e. 65,535; or 0xFFFF)
-            //must be rejected.
             if (accumulator > 0xFFFF) {
-                throw new IllegalArgumentException("Parsing Failed! Parsed value '" + accumulator + "' of Base45 chunk at index '" + (hasThirdByte ? bytesRead-3 : bytesRead-2) + "' exceeds double-byte max value of 64K (i.e. 65,535; or 0xFFFF).");
+                return error(ERROR_OVERFLOW, s - off);
+            }
+            dst[o++] = (byte) (accumulator >> 8);
+            dst[o++] = (byte) accumulator;
+            s += 3;
+        }
+
+        if (s < off + len) {
+            final int c = tryReverseLookup(src[s] & 0xFF);
+            if (c < 0) {
+                return error(ERROR_INVALID_CHAR, s - off);
             }
 
-            //b
-            byte b = (byte) accumulator;
+            //There must be a minimum of 2 bytes, if not, then it's an error.
+            //See: Section 4, Paragraphs 6 & 7
+            if (s + 1 == off + len) {
+                return error(ERROR_TRUNCATED, len);
+            }
+            final int d = tryReverseLookup(src[s + 1] & 0xFF);
+            if (d < 0) {
+                return error(ERROR_INVALID_CHAR, s - off + 1);
+            }
+            dst[o++] = (byte) (c + (d * 45));
+        }
+        return o - dstOff;
+    }
 
-            //Drop first byte
-            accumulator /= 256;
+    /**
+     * @param result A negative result of tryDecode() or validate().
+     * @return One of {@link #ERROR_INVALID_CHAR}, {@link #ERROR_OVERFLOW}, or {@link #ERROR_TRUNCATED};
+     * or 0 if the result was not a failure.
+     */
+    public static int errorReason(final long result) {
+        return result < 0 ? (int) (-result & 0x3) : 0;
+    }
 
-            //a
-            byte a = (byte) accumulator;
+    /**
+     * @param result A negative result of tryDecode() or validate().
+     * @return Index of the rejected char (invalid char), or of the start of the rejected
+     * triplet (overflow), or the input length (truncated); relative to the start of the
+     * input range. -1 if the result was not a failure.
+     */
+    public static int errorIndex(final long result) {
+        return result < 0 ? (int) (-result >>> 2) : -1;
+    }
 
-            //Write Bytes
-            if (hasThirdByte) {
-                out.write(a);
-            }
-            out.write(b);
+    private static long error(final int reason, final int index) {
+        return -(((long) index << 2) | reason);
+    }
+
+    static void checkRange(final int arrayLength, final int off, final int len) throws IndexOutOfBoundsException {
+        if (off < 0 || len < 0 || off > arrayLength - len) {
+            throw new IndexOutOfBoundsException("Range [" + off + ", " + off + " + " + len + ") out of bounds for length " + arrayLength);
         }
+    }
+
+    //
+    //No bounds checks; callers must size dst.
+    //
+    //sourceBase is the index of src[off] within the overall input, so that error
+    //messages report the same location regardless of how the input was split up.
+    //
+    static int encodeBlock(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final int sourceBase) {
+        return Base45Codec.DEFAULT.encodeBlock(src, off, len, dst, dstOff, sourceBase);
+    }
+
+    static int decodeBlock(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final int sourceBase) throws IllegalArgumentException {
+        return Base45Codec.DEFAULT.decodeBlock(src, off, len, dst, dstOff, sourceBase);
+    }
+
+    static IllegalArgumentException overflow(final int accumulator, final int chunkIndex) {
+        return new IllegalArgumentException("Parsing Failed! Parsed value '" + accumulator + "' of Base45 chunk at index '" + chunkIndex + "' exceeds double-byte max value of 64K (i.e. 65,535; or 0xFFFF).");
+    }
+
+    /**
+     * Encodes the stream until EOF. The stream is read in bulk blocks, and is not closed.
+     */
+    public static String encode(final InputStream in) throws IOException {
+        final ByteArrayOutputStream asciiOut = new ByteArrayOutputStream();
+        final Base45OutputStream out = new Base45OutputStream(asciiOut);
+        copy(in, out);
+        out.finish();
+
+        return new String(asciiOut.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    public static byte[] decode(final String inputStr) throws IOException, IllegalArgumentException {
+        return Base45Codec.DEFAULT.decode(inputStr);
+    }
+
+    /**
+     * Decodes input[off, off + len) in place, without converting it to bytes first;
+     * error locations are relative to off.
+     *
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     * @throws IndexOutOfBoundsException If the range is invalid.
+     */
+    public static byte[] decode(final CharSequence input, final int off, final int len) throws IllegalArgumentException, IndexOutOfBoundsException {
+        return Base45Codec.DEFAULT.decode(input, off, len);
+    }
+
+    /**
+     * Decodes chars[off, off + len) in place; error locations are relative to off.
+     *
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     * @throws IndexOutOfBoundsException If the range is invalid.
+     */
+    public static byte[] decode(final char[] chars, final int off, final int len) throws IllegalArgumentException, IndexOutOfBoundsException {
+        return Base45Codec.DEFAULT.decode(chars, off, len);
+    }
+
+    /**
+     * Decodes the stream until EOF. The stream is read in bulk blocks, and is not closed.
+     */
+    public static byte[] decode(final InputStream in) throws IOException, IllegalArgumentException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        copy(new Base45InputStream(in), out);
         return out.toByteArray();
     }
+
+    private static void copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buf = new byte[8192];
+        int n;
+        while ((n = in.read(buf)) >= 0) {
+            out.write(buf, 0, n);
+        }
+    }
+
+    //
+    //Error locations are reported as an int; anything beyond that is clamped.
+    //
+    static int toLocation(final long position) {
+        return (int) Math.min(position, Integer.MAX_VALUE);
+    }
+
+    //
+    //Runs a Fork/Join task, rethrowing the original IllegalArgumentException of a failure.
+    //
+    //Fork/Join rethrows failures from other threads as a copy, which wraps the original
+    //(message included); once per thread crossed. Unwrap them all, so the message is the
+    //same as on the serial path.
+    //
+    static void invoke(final ForkJoinPool pool, final ForkJoinTask<?> task) throws IllegalArgumentException {
+        try {
+            pool.invoke(task);
+        } catch (IllegalArgumentException e) {
+            IllegalArgumentException original = e;
+            while (original.getCause() instanceof IllegalArgumentException && original.getCause().toString().equals(original.getMessage())) {
+                original = (IllegalArgumentException) original.getCause();
+            }
+            throw original;
+        }
+    }
 }
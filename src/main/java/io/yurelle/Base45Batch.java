@@ -0,0 +1,243 @@
+package io.yurelle;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Batch codec, for large numbers of small payloads (e.g. QR tokens).
+ *
+ * A batch is a single contiguous arena, plus an offsets array of length size() + 1;
+ * entry i is arena[offsets[i], offsets[i + 1]). Every output offset is computed up
+ * front, so the output arena is allocated once, and then filled in a single linear
+ * pass (or in parallel, by ranges of entries) with no per-entry allocation.
+ *
+ * If more than one entry is invalid, which one gets reported is not defined when
+ * run in parallel.
+ */
+public final class Base45Batch {
+    /** Total input size (bytes when encoding, chars when decoding) below which a batch is not split up. */
+    public static final int DEFAULT_THRESHOLD = 1 << 20;
+
+    private final byte[] data;
+    private final int[] offsets;
+
+    private Base45Batch(final byte[] data, final int[] offsets) {
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Wraps an existing arena & offsets, without copying them; e.g. to decode a batch read back from storage.
+     *
+     * @param offsets Entry i is data[offsets[i], offsets[i + 1]).
+     * @throws IllegalArgumentException If the offsets are empty, or decreasing.
+     * @throws IndexOutOfBoundsException If the offsets are outside of data.
+     */
+    public static Base45Batch wrap(final byte[] data, final int[] offsets) throws IllegalArgumentException, IndexOutOfBoundsException {
+        checkOffsets(data.length, offsets);
+        return new Base45Batch(data, offsets);
+    }
+
+    /**
+     * Copies the payloads into a single arena.
+     */
+    public static Base45Batch of(final byte[][] payloads) {
+        final int[] offsets = new int[payloads.length + 1];
+        long total = 0;
+        for (int x = 0; x < payloads.length; x++) {
+            total += payloads[x].length;
+            offsets[x + 1] = checkSize(total);
+        }
+
+        final byte[] data = new byte[offsets[payloads.length]];
+        for (int x = 0; x < payloads.length; x++) {
+            System.arraycopy(payloads[x], 0, data, offsets[x], payloads[x].length);
+        }
+        return new Base45Batch(data, offsets);
+    }
+
+    /** Number of entries. */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /** The arena; not a copy. */
+    public byte[] data() {
+        return data;
+    }
+
+    /** The entry offsets, of length size() + 1; not a copy. */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    public int offset(final int index) {
+        return offsets[checkIndex(index)];
+    }
+
+    public int length(final int index) {
+        return offsets[checkIndex(index) + 1] - offsets[index];
+    }
+
+    /** Copy of entry i. */
+    public byte[] get(final int index) {
+        final int off = offset(index);
+        final byte[] out = new byte[offsets[index + 1] - off];
+        System.arraycopy(data, off, out, 0, out.length);
+        return out;
+    }
+
+    /**
+     * Entry i as a String; for encoded batches.
+     *
+     * The Encoding Specified in the Standard; See: Section 4, Paragraph 2
+     */
+    public String getString(final int index) {
+        final int off = offset(index);
+        return new String(data, off, offsets[index + 1] - off, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return Every entry, Base45 encoded into a single ASCII arena.
+     */
+    public Base45Batch encode() {
+        return encode(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param threshold Total input bytes, below which entries are encoded on the calling thread.
+     * @return Every entry, Base45 encoded into a single ASCII arena.
+     */
+    public Base45Batch encode(final ForkJoinPool pool, final int threshold) {
+        final int[] outOffsets = new int[offsets.length];
+        long total = 0;
+        for (int x = 0; x < size(); x++) {
+            total += Base45.encodedLength(offsets[x + 1] - offsets[x]);
+            outOffsets[x + 1] = checkSize(total);
+        }
+
+        final Base45Batch out = new Base45Batch(new byte[outOffsets[size()]], outOffsets);
+        run(true, out, pool, threshold);
+        return out;
+    }
+
+    /**
+     * @return Every entry, Base45 decoded into a single arena.
+     * @throws IllegalArgumentException If any entry is not valid Base45; the message includes its index.
+     */
+    public Base45Batch decode() throws IllegalArgumentException {
+        return decode(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param threshold Total input chars, below which entries are decoded on the calling thread.
+     * @return Every entry, Base45 decoded into a single arena.
+     * @throws IllegalArgumentException If any entry is not valid Base45; the message includes its index.
+     */
+    public Base45Batch decode(final ForkJoinPool pool, final int threshold) throws IllegalArgumentException {
+        //Never larger than the input, so it always fits
+        final int[] outOffsets = new int[offsets.length];
+        for (int x = 0; x < size(); x++) {
+            final int len = offsets[x + 1] - offsets[x];
+            outOffsets[x + 1] = outOffsets[x] + (len / 3) * 2 + (len % 3) / 2;
+        }
+
+        final Base45Batch out = new Base45Batch(new byte[outOffsets[size()]], outOffsets);
+        run(false, out, pool, threshold);
+        return out;
+    }
+
+    private void run(final boolean encode, final Base45Batch out, final ForkJoinPool pool, final int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Invalid threshold '" + threshold + "'! Must be at least 1.");
+        }
+
+        if (offsets[size()] - offsets[0] < threshold) {
+            transcode(encode, out, 0, size());
+        } else {
+            Base45.invoke(pool, new BatchTask(encode, out, 0, size(), threshold));
+        }
+    }
+
+    /**
+     * Transcodes entries [from, to) into their slices of out.
+     */
+    private void transcode(final boolean encode, final Base45Batch out, final int from, final int to) {
+        for (int x = from; x < to; x++) {
+            final int off = offsets[x];
+            final int len = offsets[x + 1] - off;
+            if (encode) {
+                Base45.encodeBlock(data, off, len, out.data, out.offsets[x], 0);
+            } else {
+                try {
+                    Base45.decodeBlock(data, off, len, out.data, out.offsets[x], 0);
+                } catch (IllegalArgumentException e) {
+                    //Error locations are relative to the entry
+                    throw new IllegalArgumentException("Failed in batch entry '" + x + "': " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private int checkIndex(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for batch of size " + size());
+        }
+        return index;
+    }
+
+    private static void checkOffsets(final int dataLength, final int[] offsets) throws IllegalArgumentException, IndexOutOfBoundsException {
+        if (offsets.length == 0) {
+            throw new IllegalArgumentException("Invalid offsets! Must have at least 1 entry; the start of the first payload.");
+        }
+        for (int x = 1; x < offsets.length; x++) {
+            if (offsets[x] < offsets[x - 1]) {
+                throw new IllegalArgumentException("Invalid offsets! Offset '" + offsets[x] + "' at index '" + x + "' is less than the one before it.");
+            }
+        }
+        Base45.checkRange(dataLength, offsets[0], offsets[offsets.length - 1] - offsets[0]);
+    }
+
+    private static int checkSize(final long total) {
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Batch is too large! Total size '" + total + "' exceeds max array size.");
+        }
+        return (int) total;
+    }
+
+    /**
+     * Transcodes entries [from, to), splitting by entry until each range's input is under the threshold.
+     */
+    private class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean encode;
+        private final Base45Batch out;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        BatchTask(final boolean encode, final Base45Batch out, final int from, final int to, final int threshold) {
+            this.encode = encode;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from < 2 || offsets[to] - offsets[from] < threshold) {
+                transcode(encode, out, from, to);
+                return;
+            }
+
+            final int mid = (from + to) >>> 1;
+            invokeAll(
+                    new BatchTask(encode, out, from, mid, threshold),
+                    new BatchTask(encode, out, mid, to, threshold)
+            );
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package io.yurelle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk transcoder for directories of payload files.
+ *
+ * Every regular file under the source directory is encoded or decoded into the same
+ * relative path under the destination directory (or only validated, for verify). Each
+ * file runs as its own task; on virtual threads when the runtime has them (Java 21+),
+ * otherwise on a fixed pool, with a bounded number of files in flight either way.
+ * Small files are read & written whole; files of at least {@link #MAPPED_THRESHOLD}
+ * bytes go through the memory-mapped {@link Base45Files} transcoder, or are validated
+ * a chunk at a time for verify.
+ *
+ * Usage: java -cp Base45Encoder.jar io.yurelle.Base45Bulk (encode|decode|verify) &lt;source dir&gt; [&lt;destination dir&gt;] [--in-flight N]
+ */
+public class Base45Bulk {
+    public enum Mode {
+        ENCODE, DECODE, VERIFY
+    }
+
+    /** Files in flight at once, unless otherwise specified. */
+    public static final int DEFAULT_IN_FLIGHT = 256;
+
+    /** Files at least this large are transcoded through memory-mapped windows, or verified in chunks. */
+    public static final long MAPPED_THRESHOLD = 16L << 20;
+
+    //Failures printed in the summary; the rest are only counted
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    //Chunk size for verifying large files; a multiple of 3, so chunks split on whole triplets
+    private static final int VERIFY_CHUNK_SIZE = 6 << 16;
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        final List<String> argList = new ArrayList<>(Arrays.asList(args));
+        int inFlight = DEFAULT_IN_FLIGHT;
+        final int flag = argList.indexOf("--in-flight");
+        if (flag >= 0 && flag + 1 < argList.size()) {
+            inFlight = Integer.parseInt(argList.get(flag + 1));
+            argList.subList(flag, flag + 2).clear();
+        }
+
+        final Mode mode = argList.isEmpty() ? null : parseMode(argList.get(0));
+        if (mode == null || argList.size() != (mode == Mode.VERIFY ? 2 : 3)) {
+            System.err.println("Usage: java -cp Base45Encoder.jar io.yurelle.Base45Bulk (encode|decode|verify) <source dir> [<destination dir>] [--in-flight N]");
+            System.exit(1);
+            return;
+        }
+
+        final Summary summary = run(mode, Paths.get(argList.get(1)), mode == Mode.VERIFY ? null : Paths.get(argList.get(2)), inFlight);
+        System.out.println(summary);
+        if (summary.getErrors() > 0) {
+            System.exit(2);
+        }
+    }
+
+    /**
+     * @param dst Destination directory; ignored (may be null) for {@link Mode#VERIFY}.
+     * @param inFlight Max number of files being processed at once.
+     * @return Counts & timings. Per-file failures are counted, not thrown.
+     * @throws IOException If the source directory can't be walked.
+     */
+    public static Summary run(final Mode mode, final Path src, final Path dst, final int inFlight) throws IOException, InterruptedException {
+        if (inFlight < 1) {
+            throw new IllegalArgumentException("Invalid in-flight limit '" + inFlight + "'! Must be at least 1.");
+        }
+        if (mode != Mode.VERIFY && dst == null) {
+            throw new IllegalArgumentException("A destination directory is required to " + mode.name().toLowerCase() + ".");
+        }
+
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(src)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+
+        final Summary summary = new Summary(mode, files.size());
+        final Semaphore permits = new Semaphore(inFlight);
+        final ExecutorService executor = newExecutor(inFlight);
+        final long start = System.nanoTime();
+        try {
+            for (int x = 0; x < files.size(); x++) {
+                final int index = x;
+                final Path file = files.get(x);
+                permits.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            process(mode, file, dst == null ? null : dst.resolve(src.relativize(file).toString()), summary, index);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        summary.elapsedNanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    private static void process(final Mode mode, final Path file, final Path out, final Summary summary, final int index) {
+        final long start = System.nanoTime();
+        try {
+            final long size = Files.size(file);
+            long written = 0;
+            if (size >= MAPPED_THRESHOLD) {
+                if (mode == Mode.VERIFY) {
+                    verifyChunked(file);
+                } else {
+                    Files.createDirectories(out.getParent());
+                    written = mode == Mode.ENCODE ? Base45Files.encode(file, out) : Base45Files.decode(file, out);
+                }
+            } else {
+                final byte[] in = Files.readAllBytes(file);
+                if (mode == Mode.ENCODE) {
+                    final byte[] ascii = Base45.encodeToAscii(in);
+                    Files.createDirectories(out.getParent());
+                    Files.write(out, ascii);
+                    written = ascii.length;
+                } else if (mode == Mode.DECODE) {
+                    final byte[] decoded = new byte[(in.length / 3) * 2 + (in.length % 3) / 2];
+                    Base45.decode(in, 0, in.length, decoded, 0);
+                    Files.createDirectories(out.getParent());
+                    Files.write(out, decoded);
+                    written = decoded.length;
+                } else {
+                    final long result = Base45.validate(in, 0, in.length);
+                    if (result < 0) {
+                        throw invalid(result, 0);
+                    }
+                }
+            }
+            summary.bytesRead.add(size);
+            summary.bytesWritten.add(written);
+        } catch (IOException | RuntimeException e) {
+            summary.failed(file, e);
+        } finally {
+            summary.latencies[index] = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Validates the file a chunk at a time, so it's never held whole on the heap (nor limited to 2GB).
+     */
+    private static void verifyChunked(final Path file) throws IOException {
+        final byte[] chunk = new byte[VERIFY_CHUNK_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            long pos = 0;
+            int len;
+            do {
+                //Fill the whole chunk, so only the last one can end mid-triplet
+                len = 0;
+                int n;
+                while (len < chunk.length && (n = in.read(chunk, len, chunk.length - len)) > 0) {
+                    len += n;
+                }
+
+                final long result = Base45.validate(chunk, 0, len);
+                if (result < 0) {
+                    throw invalid(result, pos);
+                }
+                pos += len;
+            } while (len == chunk.length);
+        }
+    }
+
+    private static IllegalArgumentException invalid(final long result, final long offset) {
+        return new IllegalArgumentException("Invalid Base45 (reason " + Base45.errorReason(result) + ") at index '" + (offset + Base45.errorIndex(result)) + "'.");
+    }
+
+    /**
+     * Virtual threads if the runtime has them (looked up reflectively, since this is built
+     * for Java 8); otherwise a fixed pool, sized for blocking I/O.
+     */
+    private static ExecutorService newExecutor(final int inFlight) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.min(inFlight, Runtime.getRuntime().availableProcessors() * 4));
+        }
+    }
+
+    private static Mode parseMode(final String arg) {
+        for (final Mode mode : Mode.values()) {
+            if (mode.name().equalsIgnoreCase(arg)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Results of a {@link #run(Mode, Path, Path, int)}.
+     */
+    public static final class Summary {
+        private final Mode mode;
+        private final long[] latencies;
+        private final LongAdder bytesRead = new LongAdder();
+        private final LongAdder bytesWritten = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final List<String> errorMessages = new ArrayList<>();
+        private long elapsedNanos;
+
+        Summary(final Mode mode, final int numFiles) {
+            this.mode = mode;
+            this.latencies = new long[numFiles];
+        }
+
+        private void failed(final Path file, final Exception e) {
+            errors.increment();
+            synchronized (errorMessages) {
+                if (errorMessages.size() < MAX_REPORTED_ERRORS) {
+                    errorMessages.add(file + ": " + e.getMessage());
+                }
+            }
+        }
+
+        public int getFiles() {
+            return latencies.length;
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        /** The first few failures, as "file: message". */
+        public List<String> getErrorMessages() {
+            synchronized (errorMessages) {
+                return new ArrayList<>(errorMessages);
+            }
+        }
+
+        public long getBytesRead() {
+            return bytesRead.sum();
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten.sum();
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @param percentile 0 - 100
+         * @return Per-file latency at the percentile (nearest rank), in nanoseconds; or 0 if there were no files.
+         */
+        public long getLatencyNanos(final double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            final long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            final int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+        }
+
+        @Override
+        public String toString() {
+            final double seconds = Math.max(elapsedNanos, 1) / 1e9;
+            final StringBuilder out = new StringBuilder();
+            out.append(String.format("%s %d files in %.3f s (%.1f files/s)%n", mode == Mode.VERIFY ? "verified" : mode.name().toLowerCase() + "d", getFiles(), seconds, getFiles() / seconds));
+            out.append(String.format("  read %d bytes (%.1f MB/s), wrote %d bytes%n", getBytesRead(), getBytesRead() / seconds / 1e6, getBytesWritten()));
+            out.append(String.format("  latency p50 %.3f ms, p90 %.3f ms, p99 %.3f ms%n", getLatencyNanos(50) / 1e6, getLatencyNanos(90) / 1e6, getLatencyNanos(99) / 1e6));
+            out.append(String.format("  errors %d", getErrors()));
+            for (final String message : getErrorMessages()) {
+                out.append(String.format("%n    %s", message));
+            }
+            return out.toString();
+        }
+    }
+}
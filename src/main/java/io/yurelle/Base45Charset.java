@@ -0,0 +1,248 @@
+package io.yurelle;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+
+import static io.yurelle.SecureLookupWrapper.doLookup;
+import static io.yurelle.SecureLookupWrapper.tryReverseLookup;
+
+/**
+ * Base45 as a java.nio Charset, so that any JDK I/O API can stream it with bounded
+ * buffers; e.g. an InputStreamReader over binary data reads it as Base45 text, and an
+ * OutputStreamWriter writes Base45 text out as the binary data it represents.
+ *
+ * Since the "characters" are the Base45 text, the directions are the reverse of the
+ * Base45 class:
+ *   - The CharsetDecoder maps arbitrary bytes to Base45 chars (i.e. Base45 encoding).
+ *   - The CharsetEncoder maps Base45 chars back to bytes (i.e. Base45 decoding).
+ *
+ * Invalid chars, and triplets exceeding 0xFFFF, are reported as malformed-input
+ * results, so the usual CodingErrorAction handling applies. A single trailing char
+ * is reported as malformed when the encoder is flushed.
+ *
+ * A trailing odd byte can only be encoded once the decoder is flushed. Some JDK
+ * versions' InputStreamReader never flushes its decoder (e.g. JDK 17), and will
+ * drop that final byte's 2 chars; when reading, prefer driving the CharsetDecoder
+ * directly (decode(), then flush()), or use {@link Base45OutputStream}.
+ *
+ * Registered as "X-BASE45" (alias "BASE45") through {@link Base45CharsetProvider}.
+ */
+public class Base45Charset extends Charset {
+    public static final String NAME = "X-BASE45";
+
+    public static final Base45Charset INSTANCE = new Base45Charset();
+
+    private Base45Charset() {
+        super(NAME, new String[] {"BASE45"});
+    }
+
+    @Override
+    public boolean contains(final Charset cs) {
+        return cs instanceof Base45Charset;
+    }
+
+    @Override
+    public CharsetDecoder newDecoder() {
+        return new Decoder(this);
+    }
+
+    @Override
+    public CharsetEncoder newEncoder() {
+        return new Encoder(this);
+    }
+
+    /**
+     * Bytes -> Base45 chars
+     */
+    private static final class Decoder extends CharsetDecoder {
+        //Odd byte carried over between calls; -1 if none
+        private int pending = -1;
+
+        Decoder(final Charset cs) {
+            super(cs, 1.5f, 2.0f);
+        }
+
+        @Override
+        protected CoderResult decodeLoop(final ByteBuffer in, final CharBuffer out) {
+            //Complete the pending pair
+            if (pending >= 0) {
+                if (!in.hasRemaining()) {
+                    return CoderResult.UNDERFLOW;
+                }
+                if (out.remaining() < 3) {
+                    return CoderResult.OVERFLOW;
+                }
+                putTriplet((pending << 8) | (in.get() & 0xFF), out);
+                pending = -1;
+            }
+
+            //Bulk encode all whole pairs
+            while (in.remaining() >= 2) {
+                if (out.remaining() < 3) {
+                    return CoderResult.OVERFLOW;
+                }
+                putTriplet(((in.get() & 0xFF) << 8) | (in.get() & 0xFF), out);
+            }
+
+            //Hold back odd byte; it can only be encoded once the input is known to have ended
+            if (in.hasRemaining()) {
+                pending = in.get() & 0xFF;
+            }
+            return CoderResult.UNDERFLOW;
+        }
+
+        @Override
+        protected CoderResult implFlush(final CharBuffer out) {
+            if (pending >= 0) {//Only One Source Byte
+                if (out.remaining() < 2) {
+                    return CoderResult.OVERFLOW;
+                }
+                out.put(doLookup(pending % 45, 0));
+                out.put(doLookup(pending / 45, 0));
+                pending = -1;
+            }
+            return CoderResult.UNDERFLOW;
+        }
+
+        @Override
+        protected void implReset() {
+            pending = -1;
+        }
+
+        //
+        //Variable names match those used in the encoding examples provided in the standard.
+        //See: Section 4(.0)
+        //
+        private static void putTriplet(final int n, final CharBuffer out) {
+            //e
+            int e           = n / (45 * 45);
+            int e_remainder = n % (45 * 45);
+
+            //d & c
+            int d = e_remainder / 45;
+            int c = e_remainder % 45;
+
+            //Output
+            out.put(doLookup(c, 0));
+            out.put(doLookup(d, 0));
+            out.put(doLookup(e, 0));
+        }
+    }
+
+    /**
+     * Base45 chars -> Bytes
+     */
+    private static final class Encoder extends CharsetEncoder {
+        //Digits of an incomplete triplet, carried over between calls
+        private final int[] digits = new int[3];
+        private int pendingCount = 0;
+
+        //Low byte of a triplet which didn't fit in the output, or -1; so a 1 byte buffer still makes progress
+        private int heldByte = -1;
+
+        Encoder(final Charset cs) {
+            super(cs, 2.0f / 3, 1.0f);
+        }
+
+        @Override
+        public boolean canEncode(final char c) {
+            return tryReverseLookup(c) >= 0;
+        }
+
+        @Override
+        protected CoderResult encodeLoop(final CharBuffer in, final ByteBuffer out) {
+            //Chars of the current triplet which came from this buffer; so that a malformed
+            //triplet can be reported from its start. Chars carried over from a previous
+            //buffer have already been consumed, and are just dropped.
+            int fromThisBuffer = 0;
+            if (!putHeldByte(out)) {
+                return CoderResult.OVERFLOW;
+            }
+            while (in.hasRemaining()) {
+                //Only a completed triplet produces output
+                if (pendingCount == 2 && !out.hasRemaining()) {
+                    return CoderResult.OVERFLOW;
+                }
+
+                //Security check outlined in the standard; See: Section 6, Paragraph 4.
+                final int digit = tryReverseLookup(in.get());
+                if (digit < 0) {
+                    in.position(in.position() - 1 - fromThisBuffer);
+                    dropPending();
+                    return CoderResult.malformedForLength(fromThisBuffer + 1);
+                }
+                digits[pendingCount++] = digit;
+                fromThisBuffer++;
+
+                if (pendingCount == 3) {
+                    //Combine Bytes
+                    final int accumulator = digits[0] + (digits[1] * 45) + (digits[2] * 45 * 45);
+                    pendingCount = 0;
+
+                    //Security check outlined in the standard; See: Section 6, Paragraph 5.
+                    if (accumulator > 0xFFFF) {
+                        in.position(in.position() - fromThisBuffer);
+                        return CoderResult.malformedForLength(fromThisBuffer);
+                    }
+                    out.put((byte) (accumulator >> 8));
+                    if (out.hasRemaining()) {
+                        out.put((byte) accumulator);
+                    } else {
+                        heldByte = accumulator & 0xFF;
+                    }
+                    fromThisBuffer = 0;
+                }
+            }
+            return CoderResult.UNDERFLOW;
+        }
+
+        @Override
+        protected CoderResult implFlush(final ByteBuffer out) {
+            if (!putHeldByte(out)) {
+                return CoderResult.OVERFLOW;
+            }
+            if (pendingCount == 1) {
+                //There must be a minimum of 2 bytes, if not, then it's an error.
+                //See: Section 4, Paragraphs 6 & 7
+                dropPending();
+                return CoderResult.malformedForLength(1);
+            }
+            if (pendingCount == 2) {
+                if (!out.hasRemaining()) {
+                    return CoderResult.OVERFLOW;
+                }
+                out.put((byte) (digits[0] + (digits[1] * 45)));
+                dropPending();
+            }
+            return CoderResult.UNDERFLOW;
+        }
+
+        @Override
+        protected void implReset() {
+            dropPending();
+            heldByte = -1;
+        }
+
+        private void dropPending() {
+            pendingCount = 0;
+        }
+
+        /**
+         * @return False if there is a held byte, and no room for it.
+         */
+        private boolean putHeldByte(final ByteBuffer out) {
+            if (heldByte >= 0) {
+                if (!out.hasRemaining()) {
+                    return false;
+                }
+                out.put((byte) heldByte);
+                heldByte = -1;
+            }
+            return true;
+        }
+    }
+}
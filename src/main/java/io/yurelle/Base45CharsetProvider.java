@@ -0,0 +1,32 @@
+package io.yurelle;
+
+import java.nio.charset.Charset;
+import java.nio.charset.spi.CharsetProvider;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Registers {@link Base45Charset} with the JDK, so that Charset.forName("X-BASE45")
+ * works anywhere the JAR is on the classpath.
+ *
+ * See: META-INF/services/java.nio.charset.spi.CharsetProvider
+ */
+public class Base45CharsetProvider extends CharsetProvider {
+    @Override
+    public Iterator<Charset> charsets() {
+        return Collections.<Charset>singletonList(Base45Charset.INSTANCE).iterator();
+    }
+
+    @Override
+    public Charset charsetForName(final String charsetName) {
+        if (Base45Charset.NAME.equalsIgnoreCase(charsetName)) {
+            return Base45Charset.INSTANCE;
+        }
+        for (final String alias : Base45Charset.INSTANCE.aliases()) {
+            if (alias.equalsIgnoreCase(charsetName)) {
+                return Base45Charset.INSTANCE;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,188 @@
+package io.yurelle;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * Base45 encoding & decoding fused with a {@link Checksum} over the raw bytes.
+ *
+ * The input is processed in small windows; each window's raw bytes are fed to the
+ * checksum right after they have been encoded (or decoded), while they are still in
+ * cache. So the checksum costs no second pass over the whole payload in memory.
+ *
+ * The trailer variants append the checksum's value (low 4 bytes, big-endian) to the
+ * payload before encoding, and verify & strip it when decoding; i.e. the encoded text
+ * is Base45(payload + checksum). The checksums given to them should be fresh, or reset.
+ *
+ * CRC32C is only built into Java 9+; on those, pass a java.util.zip.CRC32C. The
+ * "Crc32" convenience methods use {@link CRC32}, so they run on Java 8.
+ */
+public final class Base45Checksums {
+    /** Number of checksum bytes appended by the trailer variants. */
+    public static final int TRAILER_BYTES = 4;
+
+    //Raw bytes per window; whole 2 byte groups, small enough to still be in L1 for the checksum
+    private static final int WINDOW_BYTES = 2 * 1024;
+    private static final int WINDOW_CHARS = (WINDOW_BYTES / 2) * 3;
+
+    private Base45Checksums() {
+    }
+
+    /**
+     * Same as {@link Base45#encode(byte[], int, int, byte[], int)}, also updating checksum with src[off, off + len).
+     *
+     * @return Number of chars written.
+     */
+    public static int encode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final Checksum checksum) throws IndexOutOfBoundsException {
+        Base45.checkRange(src.length, off, len);
+        Base45.checkRange(dst.length, dstOff, Base45.encodedLength(len));
+        return encodeWindows(src, off, len, dst, dstOff, checksum);
+    }
+
+    /**
+     * Same as {@link Base45#decode(byte[], int, int, byte[], int)}, also updating checksum with the decoded bytes.
+     *
+     * @return Number of bytes written.
+     */
+    public static int decode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final Checksum checksum) throws IllegalArgumentException, IndexOutOfBoundsException {
+        Base45.checkRange(src.length, off, len);
+        Base45.checkRange(dst.length, dstOff, (len / 3) * 2 + (len % 3) / 2);
+
+        int o = dstOff;
+        for (int p = 0; p < len; p += WINDOW_CHARS) {
+            final int n = Base45.decodeBlock(src, off + p, Math.min(WINDOW_CHARS, len - p), dst, o, p);
+            checksum.update(dst, o, n);
+            o += n;
+        }
+        return o - dstOff;
+    }
+
+    /**
+     * Encodes inputData, also updating checksum with it.
+     */
+    public static String encode(final byte[] inputData, final Checksum checksum) {
+        final byte[] ascii = new byte[Base45.encodedLength(inputData.length)];
+        encodeWindows(inputData, 0, inputData.length, ascii, 0, checksum);
+        return new String(ascii, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Decodes input, also updating checksum with the decoded bytes.
+     *
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     */
+    public static byte[] decode(final CharSequence input, final Checksum checksum) throws IllegalArgumentException {
+        final int len = input.length();
+        final byte[] out = new byte[Base45.decodedLength(len)];
+        decodeWindows(input, 0, len, out, 0, checksum);
+        return out;
+    }
+
+    /**
+     * Encodes inputData followed by its checksum; See: {@link #TRAILER_BYTES}
+     */
+    public static String encodeWithTrailer(final byte[] inputData, final Checksum checksum) {
+        final int len = inputData.length;
+        final byte[] ascii = new byte[Base45.encodedLength(len + TRAILER_BYTES)];
+
+        //Whole groups of the payload
+        final int pairEnd = len & ~1;
+        final int o = encodeWindows(inputData, 0, pairEnd, ascii, 0, checksum);
+
+        //An odd payload byte shares its group with the start of the trailer
+        final byte[] tail = new byte[1 + TRAILER_BYTES];
+        int t = 0;
+        if (pairEnd < len) {
+            tail[t++] = inputData[pairEnd];
+            checksum.update(inputData, pairEnd, 1);
+        }
+        t = putTrailer(checksum.getValue(), tail, t);
+        Base45.encodeBlock(tail, 0, t, ascii, o, pairEnd);
+
+        return new String(ascii, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Decodes input, and verifies & strips its checksum trailer; See: {@link #TRAILER_BYTES}
+     *
+     * @return The payload, without the trailer.
+     * @throws IllegalArgumentException If the input is not valid Base45, is too short to hold a trailer, or the checksum does not match.
+     */
+    public static byte[] decodeWithTrailer(final CharSequence input, final Checksum checksum) throws IllegalArgumentException {
+        final int len = input.length();
+        final int total = Base45.decodedLength(len);
+        if (total < TRAILER_BYTES) {
+            throw new IllegalArgumentException("Input of '" + len + "' chars is too short! Expected at least " + TRAILER_BYTES + " bytes of checksum trailer.");
+        }
+
+        //Whole groups of the payload go straight into the result
+        final byte[] payload = new byte[total - TRAILER_BYTES];
+        final int mainChars = (payload.length / 2) * 3;
+        decodeWindows(input, 0, mainChars, payload, 0, checksum);
+
+        //The rest is the odd payload byte (if any) and the trailer
+        final byte[] tail = new byte[1 + TRAILER_BYTES];
+        final int t = Base45Codec.DEFAULT.decodeChars(input, mainChars, len - mainChars, tail, 0, mainChars);
+        if (t > TRAILER_BYTES) {
+            payload[payload.length - 1] = tail[0];
+            checksum.update(tail, 0, 1);
+        }
+        verifyTrailer(checksum.getValue(), tail, t - TRAILER_BYTES);
+        return payload;
+    }
+
+    /**
+     * Same as {@link #encodeWithTrailer(byte[], Checksum)} with a CRC32.
+     */
+    public static String encodeWithCrc32(final byte[] inputData) {
+        return encodeWithTrailer(inputData, new CRC32());
+    }
+
+    /**
+     * Same as {@link #decodeWithTrailer(CharSequence, Checksum)} with a CRC32.
+     */
+    public static byte[] decodeWithCrc32(final CharSequence input) throws IllegalArgumentException {
+        return decodeWithTrailer(input, new CRC32());
+    }
+
+    /**
+     * Writes the low 4 bytes of value, big-endian.
+     *
+     * @return off + TRAILER_BYTES
+     */
+    static int putTrailer(final long value, final byte[] dst, int off) {
+        dst[off++] = (byte) (value >>> 24);
+        dst[off++] = (byte) (value >>> 16);
+        dst[off++] = (byte) (value >>> 8);
+        dst[off++] = (byte) value;
+        return off;
+    }
+
+    static void verifyTrailer(final long value, final byte[] src, final int off) throws IllegalArgumentException {
+        final long expected = ((src[off] & 0xFFL) << 24) | ((src[off + 1] & 0xFF) << 16) | ((src[off + 2] & 0xFF) << 8) | (src[off + 3] & 0xFF);
+        final long actual = value & 0xFFFFFFFFL;
+        if (expected != actual) {
+            throw new IllegalArgumentException("Checksum mismatch! Trailer is '" + String.format("%08x", expected) + "', but the payload's checksum is '" + String.format("%08x", actual) + "'.");
+        }
+    }
+
+    private static int encodeWindows(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final Checksum checksum) {
+        int o = dstOff;
+        for (int p = 0; p < len; p += WINDOW_BYTES) {
+            final int n = Math.min(WINDOW_BYTES, len - p);
+            o += Base45.encodeBlock(src, off + p, n, dst, o, p);
+            checksum.update(src, off + p, n);
+        }
+        return o - dstOff;
+    }
+
+    private static void decodeWindows(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff, final Checksum checksum) throws IllegalArgumentException {
+        int o = dstOff;
+        for (int p = 0; p < len; p += WINDOW_CHARS) {
+            final int n = Base45Codec.DEFAULT.decodeChars(src, off + p, Math.min(WINDOW_CHARS, len - p), dst, o, p);
+            checksum.update(dst, o, n);
+            o += n;
+        }
+    }
+}
@@ -0,0 +1,496 @@
+package io.yurelle;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Immutable, thread-safe Base45 codec, with its own alphabet & lookup tables.
+ *
+ * {@link #DEFAULT} is the standard codec, which every static method of {@link Base45}
+ * runs on. Build other instances with {@link #builder()}; e.g. for a custom alphabet
+ * on an internal transport, or for case-insensitive decoding. Anything other than the
+ * default is not RFC 9285 compliant, and should not be used to exchange data with
+ * other implementations.
+ *
+ * The security checks of the standard (See: Section 6) apply to every instance.
+ */
+public final class Base45Codec {
+    /** The alphabet of the standard; See: Section 4.2, "Table 1: The Base45 Alphabet". */
+    public static final String STANDARD_ALPHABET = SecureLookupWrapper.standardAlphabet();
+
+    /**
+     * How encoding to a String or Appendable gets its intermediate ASCII buffer.
+     */
+    public enum ScratchBuffers {
+        /** A new buffer per call. */
+        NONE,
+
+        /**
+         * One buffer per thread, reused across calls. Buffers over {@link #MAX_SCRATCH_SIZE}
+         * are never kept, so a single large input doesn't stay pinned to the thread.
+         */
+        THREAD_LOCAL
+    }
+
+    //Bytes per window of encodeTo(); whole 2 byte groups
+    private static final int APPEND_WINDOW_BYTES = 2 * 1024;
+
+    /** Largest ASCII scratch buffer kept per thread; See: {@link ScratchBuffers#THREAD_LOCAL}. */
+    public static final int MAX_SCRATCH_SIZE = 64 * 1024;
+
+    /** The standard codec; strict, with the standard alphabet. */
+    public static final Base45Codec DEFAULT = builder().build();
+
+    private final SecureLookupWrapper tables;
+    private final boolean caseInsensitive;
+    private final boolean vectorDecode;
+    private final ScratchBuffers scratchBuffers;
+    private final ThreadLocal<byte[]> scratch;
+
+    private Base45Codec(final Builder builder) {
+        this.tables = new SecureLookupWrapper(builder.alphabet.toCharArray(), builder.caseInsensitive);
+        this.caseInsensitive = builder.caseInsensitive;
+        this.scratchBuffers = builder.scratchBuffers;
+        this.scratch = builder.scratchBuffers == ScratchBuffers.THREAD_LOCAL ? new ThreadLocal<>() : null;
+
+        //The SIMD kernels hard code the standard, strict alphabet
+        this.vectorDecode = !builder.caseInsensitive && STANDARD_ALPHABET.equals(builder.alphabet);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return A builder with this codec's settings.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .alphabet(getAlphabet())
+                .caseInsensitive(caseInsensitive)
+                .scratchBuffers(scratchBuffers);
+    }
+
+    public String getAlphabet() {
+        return tables.alphabet();
+    }
+
+    public boolean isCaseInsensitive() {
+        return caseInsensitive;
+    }
+
+    public ScratchBuffers getScratchBuffers() {
+        return scratchBuffers;
+    }
+
+    public String encode(final byte[] inputData) {
+        final Telemetry probe = Telemetry.begin();
+        final int numChars = Base45.encodedLength(inputData.length);
+        final byte[] out = scratch(numChars);
+        encodeBlock(inputData, 0, inputData.length, out, 0, 0);
+        if (probe != null) {
+            probe.encoded(inputData.length, numChars);
+        }
+
+        //The Encoding Specified in the Standard; See: Section 4, Paragraph 2
+        return new String(out, 0, numChars, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Encodes straight into ASCII bytes; e.g. for a socket or a file, where a String
+     * would only be converted back into bytes.
+     */
+    public byte[] encodeToAscii(final byte[] inputData) {
+        final Telemetry probe = Telemetry.begin();
+        final byte[] out = new byte[Base45.encodedLength(inputData.length)];
+        encodeBlock(inputData, 0, inputData.length, out, 0, 0);
+        if (probe != null) {
+            probe.encoded(inputData.length, out.length);
+        }
+        return out;
+    }
+
+    /**
+     * Encodes into out, a window at a time; without building the whole String.
+     *
+     * @return out
+     */
+    public <A extends Appendable> A encodeTo(final byte[] inputData, final A out) throws IOException {
+        final Telemetry probe = Telemetry.begin();
+        final int numChars = Base45.encodedLength(inputData.length);
+
+        //Whole 2 byte groups per window, so the windows concatenate to the full encoding
+        final int windowBytes = Math.min(inputData.length, APPEND_WINDOW_BYTES);
+        final byte[] ascii = scratch(Base45.encodedLength(windowBytes));
+        final char[] chars = new char[Base45.encodedLength(windowBytes)];
+        final CharBuffer window = CharBuffer.wrap(chars);
+        for (int off = 0; off < inputData.length; off += windowBytes) {
+            final int n = encodeBlock(inputData, off, Math.min(windowBytes, inputData.length - off), ascii, 0, off);
+            for (int x = 0; x < n; x++) {
+                chars[x] = (char) ascii[x];
+            }
+            window.clear().limit(n);
+            out.append(window);
+        }
+
+        if (probe != null) {
+            probe.encoded(inputData.length, numChars);
+        }
+        return out;
+    }
+
+    /**
+     * Decodes the chars in place; there is no intermediate String or byte[] conversion.
+     *
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     */
+    public byte[] decode(final CharSequence input) throws IllegalArgumentException {
+        return decode(input, 0, input.length());
+    }
+
+    /**
+     * Decodes input[off, off + len) in place; error locations are relative to off.
+     *
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     * @throws IndexOutOfBoundsException If the range is invalid.
+     */
+    public byte[] decode(final CharSequence input, final int off, final int len) throws IllegalArgumentException, IndexOutOfBoundsException {
+        Base45.checkRange(input.length(), off, len);
+
+        final Telemetry probe = Telemetry.begin();
+        final byte[] out = new byte[(len / 3) * 2 + (len % 3) / 2];
+        try {
+            decodeChars(input, off, len, out, 0, 0);
+        } catch (IllegalArgumentException e) {
+            if (probe != null) {
+                probe.rejected(rejectionReason(input.subSequence(off, off + len)), len);
+            }
+            throw e;
+        }
+
+        if (probe != null) {
+            probe.decoded(len, out.length);
+        }
+        return out;
+    }
+
+    /**
+     * Decodes chars[off, off + len) in place; error locations are relative to off.
+     *
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     * @throws IndexOutOfBoundsException If the range is invalid.
+     */
+    public byte[] decode(final char[] chars, final int off, final int len) throws IllegalArgumentException, IndexOutOfBoundsException {
+        return decode(CharBuffer.wrap(chars), off, len);
+    }
+
+    /**
+     * See: {@link Base45#encode(byte[], int, int, byte[], int)}
+     */
+    public int encode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) throws IndexOutOfBoundsException {
+        Base45.checkRange(src.length, off, len);
+        Base45.checkRange(dst.length, dstOff, Base45.encodedLength(len));
+
+        final Telemetry probe = Telemetry.begin();
+        final int numChars = encodeBlock(src, off, len, dst, dstOff, 0);
+        if (probe != null) {
+            probe.encoded(len, numChars);
+        }
+        return numChars;
+    }
+
+    /**
+     * See: {@link Base45#decode(byte[], int, int, byte[], int)}
+     */
+    public int decode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) throws IllegalArgumentException, IndexOutOfBoundsException {
+        Base45.checkRange(src.length, off, len);
+        Base45.checkRange(dst.length, dstOff, (len / 3) * 2 + (len % 3) / 2);
+
+        final Telemetry probe = Telemetry.begin();
+        final int numBytes;
+        try {
+            numBytes = decodeBlock(src, off, len, dst, dstOff, 0);
+        } catch (IllegalArgumentException e) {
+            if (probe != null) {
+                probe.rejected(rejectionReason(new AsciiSequence(src, off, len)), len);
+            }
+            throw e;
+        }
+
+        if (probe != null) {
+            probe.decoded(len, numBytes);
+        }
+        return numBytes;
+    }
+
+    /**
+     * Classifies a rejected input, for metrics; only called once decoding has already failed.
+     *
+     * @return Base45.ERROR_INVALID_CHAR, ERROR_OVERFLOW, or ERROR_TRUNCATED; whichever comes first.
+     */
+    private int rejectionReason(final CharSequence input) {
+        final int len = input.length();
+        final int tripletEnd = (len / 3) * 3;
+        for (int s = 0; s < len; s += 3) {
+            final int c = tables.tryLookupDigit(input.charAt(s));
+            final int d = s + 1 < len ? tables.tryLookupDigit(input.charAt(s + 1)) : 0;
+            final int e = s + 2 < len ? tables.tryLookupDigit(input.charAt(s + 2)) : 0;
+            if ((c | d | e) < 0) {
+                return Base45.ERROR_INVALID_CHAR;
+            }
+            if (s < tripletEnd && c + (d * 45) + (e * 45 * 45) > 0xFFFF) {
+                return Base45.ERROR_OVERFLOW;
+            }
+        }
+        return Base45.ERROR_TRUNCATED;
+    }
+
+    /**
+     * Read-only view of ASCII bytes as chars.
+     */
+    private static final class AsciiSequence implements CharSequence {
+        private final byte[] src;
+        private final int off;
+        private final int len;
+
+        AsciiSequence(final byte[] src, final int off, final int len) {
+            this.src = src;
+            this.off = off;
+            this.len = len;
+        }
+
+        @Override
+        public int length() {
+            return len;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return (char) (src[off + index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new AsciiSequence(src, off + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(src, off, len, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    private byte[] scratch(final int size) {
+        if (scratch == null || size > MAX_SCRATCH_SIZE) {
+            return new byte[size];
+        }
+
+        byte[] buf = scratch.get();
+        if (buf == null || buf.length < size) {
+            //Grow in powers of 2, so a thread with slowly growing inputs doesn't reallocate each time
+            buf = new byte[Math.min(MAX_SCRATCH_SIZE, Math.max(256, Integer.highestOneBit(Math.max(size, 1) - 1) << 1))];
+            scratch.set(buf);
+        }
+        return buf;
+    }
+
+    //
+    //Variable names match those used in the encoding examples provided in the standard.
+    //See: Section 4(.0)
+    //
+    //No bounds checks; callers must size dst.
+    //
+    //sourceBase is the index of src[off] within the overall input, so that error
+    //messages report the same location regardless of how the input was split up.
+    //
+    int encodeBlock(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final int sourceBase) {
+        final int end = off + len;
+        final int pairEnd = off + (len & ~1);
+
+        int s = off;
+        int o = dstOff;
+        while (s < pairEnd) {
+            //Unified Bytes
+            int n = ((src[s] & 0xFF) << 8) | (src[s + 1] & 0xFF);
+            s += 2;
+
+            //e
+            int e           = n / (45 * 45);
+            int e_remainder = n % (45 * 45);
+
+            //d & c
+            int d = e_remainder / 45;
+            int c = e_remainder % 45;
+
+            //Output
+            final int bytesRead = sourceBase + (s - off);
+            dst[o++] = (byte) tables.lookup(c, bytesRead);
+            dst[o++] = (byte) tables.lookup(d, bytesRead);
+            dst[o++] = (byte) tables.lookup(e, bytesRead);
+        }
+
+        if (s < end) {//Only One Source Byte
+            int a = src[s++] & 0xFF;
+            int c = a % 45;
+            int d = a / 45;
+
+            //Output
+            final int bytesRead = sourceBase + (s - off);
+            dst[o++] = (byte) tables.lookup(c, bytesRead);
+            dst[o++] = (byte) tables.lookup(d, bytesRead);
+        }
+        return o - dstOff;
+    }
+
+    //
+    //Variable names match those used in the decoding examples provided in the standard.
+    //See: Section 4(.0)
+    //
+    //No bounds checks; callers must size dst.
+    //
+    //sourceBase is the index of src[off] within the overall input, so that error
+    //messages report the same location regardless of how the input was split up.
+    //
+    int decodeBlock(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final int sourceBase) throws IllegalArgumentException {
+        final int end = off + len;
+        final int tripletEnd = off + (len / 3) * 3;
+
+        //Leading triplets on the SIMD engine, if in use; it stops short of any invalid block, which is then reported below
+        int s = off;
+        if (vectorDecode) {
+            s += VectorSupport.decodeTriplets(src, off, tripletEnd - off, dst, dstOff);
+        }
+        int o = dstOff + ((s - off) / 3) * 2;
+        while (s < tripletEnd) {
+            final int chunkIndex = sourceBase + (s - off);
+            int c = tables.reverseLookup(src[s] & 0xFF, chunkIndex);
+            int d = tables.reverseLookup(src[s + 1] & 0xFF, chunkIndex + 1);
+            int e = tables.reverseLookup(src[s + 2] & 0xFF, chunkIndex + 2);
+            s += 3;
+
+            //Combine Bytes
+            int accumulator = c + (d * 45) + (e * 45 * 45);
+
+            //Security check outlined in the standard; See: Section 6, Paragraph 5.
+            if (accumulator > 0xFFFF) {
+                throw Base45.overflow(accumulator, chunkIndex);
+            }
+
+            dst[o++] = (byte) (accumulator >> 8);
+            dst[o++] = (byte) accumulator;
+        }
+
+        if (s < end) {
+            final int chunkIndex = sourceBase + (s - off);
+            int c = tables.reverseLookup(src[s] & 0xFF, chunkIndex);
+
+            //There must be a minimum of 2 bytes, if not, then it's an error.
+            //See: Section 4, Paragraphs 6 & 7
+            if (s + 1 >= end) {
+                throw new IllegalArgumentException("Unexpected end of input at index '" + (chunkIndex + 1) + "'! Parser expected at least one more byte.");
+            }
+            int d = tables.reverseLookup(src[s + 1] & 0xFF, chunkIndex + 1);
+
+            dst[o++] = (byte) (c + (d * 45));
+        }
+        return o - dstOff;
+    }
+
+    //
+    //Same as decodeBlock(), reading chars in place. Anything outside of the single-byte
+    //value space is rejected by the lookup's bounds check.
+    //
+    int decodeChars(final CharSequence src, final int off, final int len, final byte[] dst, final int dstOff, final int sourceBase) throws IllegalArgumentException {
+        final int end = off + len;
+        final int tripletEnd = off + (len / 3) * 3;
+
+        int s = off;
+        int o = dstOff;
+        while (s < tripletEnd) {
+            final int chunkIndex = sourceBase + (s - off);
+            int c = tables.reverseLookup(src.charAt(s), chunkIndex);
+            int d = tables.reverseLookup(src.charAt(s + 1), chunkIndex + 1);
+            int e = tables.reverseLookup(src.charAt(s + 2), chunkIndex + 2);
+            s += 3;
+
+            //Combine Bytes
+            int accumulator = c + (d * 45) + (e * 45 * 45);
+
+            //Security check outlined in the standard; See: Section 6, Paragraph 5.
+            if (accumulator > 0xFFFF) {
+                throw Base45.overflow(accumulator, chunkIndex);
+            }
+
+            dst[o++] = (byte) (accumulator >> 8);
+            dst[o++] = (byte) accumulator;
+        }
+
+        if (s < end) {
+            final int chunkIndex = sourceBase + (s - off);
+            int c = tables.reverseLookup(src.charAt(s), chunkIndex);
+
+            //There must be a minimum of 2 bytes, if not, then it's an error.
+            //See: Section 4, Paragraphs 6 & 7
+            if (s + 1 >= end) {
+                throw new IllegalArgumentException("Unexpected end of input at index '" + (chunkIndex + 1) + "'! Parser expected at least one more byte.");
+            }
+            int d = tables.reverseLookup(src.charAt(s + 1), chunkIndex + 1);
+
+            dst[o++] = (byte) (c + (d * 45));
+        }
+        return o - dstOff;
+    }
+
+    /**
+     * Not thread-safe; but the codecs it builds are.
+     */
+    public static final class Builder {
+        private String alphabet = STANDARD_ALPHABET;
+        private boolean caseInsensitive = false;
+        private ScratchBuffers scratchBuffers = ScratchBuffers.NONE;
+
+        private Builder() {
+        }
+
+        /**
+         * @param alphabet 45 distinct ASCII chars; the char for each digit value, 0 - 44.
+         * Default: {@link #STANDARD_ALPHABET}
+         */
+        public Builder alphabet(final String alphabet) {
+            if (alphabet == null) {
+                throw new IllegalArgumentException("Alphabet cannot be null!");
+            }
+            this.alphabet = alphabet;
+            return this;
+        }
+
+        /**
+         * @param caseInsensitive Whether letters are also accepted in their other case when
+         * decoding. The standard requires them to be rejected; See: Section 6. Default: false
+         */
+        public Builder caseInsensitive(final boolean caseInsensitive) {
+            this.caseInsensitive = caseInsensitive;
+            return this;
+        }
+
+        /**
+         * Default: {@link ScratchBuffers#NONE}; so that threads which only encode once in a
+         * while (e.g. virtual threads) don't each keep a buffer.
+         */
+        public Builder scratchBuffers(final ScratchBuffers scratchBuffers) {
+            if (scratchBuffers == null) {
+                throw new IllegalArgumentException("Scratch buffer strategy cannot be null!");
+            }
+            this.scratchBuffers = scratchBuffers;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException If the alphabet is invalid, or is ambiguous when case-insensitive.
+         */
+        public Base45Codec build() throws IllegalArgumentException {
+            return new Base45Codec(this);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package io.yurelle;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache in front of {@link Base45Codec#decode(CharSequence)}, for inputs which
+ * are decoded over & over again; e.g. the same credential scanned repeatedly.
+ *
+ * Entries are keyed by the input String (its hash is cached by String itself, and a hit
+ * is confirmed with equals()). The cache is split into independently locked stripes,
+ * each an LRU of up to maximumSize / stripes entries, so scanner threads mostly don't
+ * contend. Entries can also expire a fixed time after they were decoded.
+ *
+ * Decoding runs outside of the stripe's lock, so concurrent misses on the same input
+ * may each decode it. Invalid input is never cached; it throws every time.
+ *
+ * The cached arrays never leave the cache: callers get a copy, or a read-only view.
+ */
+public final class Base45DecodeCache {
+    private final Base45Codec codec;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final long expireAfterNanos;
+    private final LongSupplier clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private Base45DecodeCache(final Builder builder) {
+        this.codec = builder.codec;
+        this.expireAfterNanos = builder.expireAfterNanos;
+        this.clock = builder.clock;
+
+        //Power of 2, and no more stripes than entries
+        int numStripes = Integer.highestOneBit(Math.min(builder.stripes, builder.maximumSize));
+        this.stripes = new Stripe[numStripes];
+        this.stripeMask = numStripes - 1;
+
+        //Spread the remainder, so the capacities add up to exactly maximumSize
+        for (int x = 0; x < numStripes; x++) {
+            stripes[x] = new Stripe(builder.maximumSize / numStripes + (x < builder.maximumSize % numStripes ? 1 : 0));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return A copy of the decoded input.
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     */
+    public byte[] decode(final String input) throws IllegalArgumentException {
+        return get(input).clone();
+    }
+
+    /**
+     * @return A read-only view of the decoded input; shared with other callers, but never modified.
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     */
+    public ByteBuffer decodeToBuffer(final String input) throws IllegalArgumentException {
+        return ByteBuffer.wrap(get(input)).asReadOnlyBuffer();
+    }
+
+    /** Number of lookups which were served from the cache. */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /** Number of lookups which had to decode; including invalid inputs. */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /** Number of entries dropped for space; expired entries are not counted. */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /** Current number of entries; may include expired ones which have not been looked up since. */
+    public int size() {
+        int size = 0;
+        for (final Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public void invalidateAll() {
+        for (final Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    private byte[] get(final String input) {
+        int h = input.hashCode();
+        h ^= (h >>> 16);
+        final Stripe stripe = stripes[h & stripeMask];
+
+        synchronized (stripe) {
+            final CachedValue entry = stripe.get(input);
+            if (entry != null) {
+                if (clock.getAsLong() - entry.decodedAt < expireAfterNanos) {
+                    hits.increment();
+                    return entry.value;
+                }
+                stripe.remove(input);
+            }
+        }
+
+        misses.increment();
+        final byte[] value = codec.decode(input);
+        final CachedValue entry = new CachedValue(value, clock.getAsLong());
+        synchronized (stripe) {
+            stripe.put(input, entry);
+            stripe.expireOldest();
+        }
+        return value;
+    }
+
+    private static final class CachedValue {
+        private final byte[] value;
+        private final long decodedAt;
+
+        CachedValue(final byte[] value, final long decodedAt) {
+            this.value = value;
+            this.decodedAt = decodedAt;
+        }
+    }
+
+    /**
+     * Access ordered, so the eldest entry is the least recently used.
+     */
+    private final class Stripe extends LinkedHashMap<String, CachedValue> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Stripe(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, CachedValue> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Drops expired entries from the cold end; stops at the first live one, so this is
+         * cheap, but may leave expired entries which were accessed more recently.
+         */
+        void expireOldest() {
+            final long now = clock.getAsLong();
+            final Iterator<CachedValue> it = values().iterator();
+            while (it.hasNext() && now - it.next().decodedAt >= expireAfterNanos) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Not thread-safe; but the caches it builds are.
+     */
+    public static final class Builder {
+        private Base45Codec codec = Base45Codec.DEFAULT;
+        private int maximumSize = 1024;
+        private int stripes = 16;
+        private long expireAfterNanos = Long.MAX_VALUE;
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /** Default: {@link Base45Codec#DEFAULT} */
+        public Builder codec(final Base45Codec codec) {
+            if (codec == null) {
+                throw new IllegalArgumentException("Codec cannot be null!");
+            }
+            this.codec = codec;
+            return this;
+        }
+
+        /** Total number of entries, across all stripes. Default: 1024 */
+        public Builder maximumSize(final int maximumSize) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("Invalid maximum size '" + maximumSize + "'! Must be at least 1.");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /** Number of independently locked stripes; rounded down to a power of 2. Default: 16 */
+        public Builder stripes(final int stripes) {
+            if (stripes < 1) {
+                throw new IllegalArgumentException("Invalid stripe count '" + stripes + "'! Must be at least 1.");
+            }
+            this.stripes = stripes;
+            return this;
+        }
+
+        /** Entries expire this long after they were decoded. Default: never */
+        public Builder expireAfterWrite(final long duration, final TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("Invalid expiry '" + duration + "'! Must be positive.");
+            }
+            this.expireAfterNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /** Source of System.nanoTime() style timestamps; e.g. a fake clock for tests. Default: System::nanoTime */
+        public Builder clock(final LongSupplier nanoClock) {
+            if (nanoClock == null) {
+                throw new IllegalArgumentException("Clock cannot be null!");
+            }
+            this.clock = nanoClock;
+            return this;
+        }
+
+        public Base45DecodeCache build() {
+            return new Base45DecodeCache(this);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package io.yurelle;
+
+import static io.yurelle.SecureLookupWrapper.doReverseLookup;
+
+/**
+ * Incremental (push) decoder, for input which arrives in arbitrary chunks; e.g.
+ * HTTP/2 frames, or WebSocket messages.
+ *
+ * Each call to update() decodes every triplet completed by that chunk, right
+ * away. Up to 2 chars of an incomplete triplet are carried over to the next
+ * call. finish() decodes the trailing pair (if any) once the input has ended.
+ *
+ * Error locations are reported relative to the start of the whole input, not
+ * the current chunk. After an exception, the decoder must be reset() before
+ * it can be used again.
+ *
+ * Instances are not thread-safe.
+ */
+public class Base45Decoder {
+    private static final int SCRATCH_TRIPLETS = 256;
+
+    //Chars of an incomplete triplet, carried over between chunks
+    private final byte[] carry = new byte[3];
+    private int carryCount = 0;
+
+    //Number of source chars consumed so far; used for error locations.
+    private long charsRead = 0;
+
+    //Lazily allocated; only used by the CharSequence & convenience methods
+    private byte[] scratch;
+
+    /**
+     * Largest number of bytes the next update() with the given number of chars can output.
+     */
+    public int maxUpdateLength(final int numChars) {
+        return ((carryCount + numChars) / 3) * 2;
+    }
+
+    /**
+     * Decodes every triplet completed by this chunk of ASCII bytes.
+     *
+     * @param out Must have room for {@link #maxUpdateLength(int)} bytes.
+     * @return The number of bytes written into out.
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     * @throws IndexOutOfBoundsException If the source range is invalid, or out is too small.
+     */
+    public int update(final byte[] in, int off, int len, final byte[] out, final int outOff) throws IllegalArgumentException, IndexOutOfBoundsException {
+        Base45.checkRange(in.length, off, len);
+        Base45.checkRange(out.length, outOff, maxUpdateLength(len));
+
+        int o = outOff;
+
+        //Complete the carried over triplet
+        if (carryCount > 0) {
+            while (carryCount < 3 && len > 0) {
+                carry[carryCount++] = in[off++];
+                len--;
+            }
+            if (carryCount < 3) {
+                return 0;
+            }
+            o += Base45.decodeBlock(carry, 0, 3, out, o, Base45.toLocation(charsRead));
+            charsRead += 3;
+            carryCount = 0;
+        }
+
+        //Bulk decode all whole triplets
+        final int numChars = (len / 3) * 3;
+        o += Base45.decodeBlock(in, off, numChars, out, o, Base45.toLocation(charsRead));
+        charsRead += numChars;
+
+        //Carry over the remainder
+        for (int x = off + numChars; x < off + len; x++) {
+            carry[carryCount++] = in[x];
+        }
+        return o - outOff;
+    }
+
+    /**
+     * Decodes every triplet completed by this chunk of chars.
+     *
+     * @param out Must have room for {@link #maxUpdateLength(int)} bytes.
+     * @return The number of bytes written into out.
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     * @throws IndexOutOfBoundsException If the source range is invalid, or out is too small.
+     */
+    public int update(final CharSequence in, final int off, final int len, final byte[] out, final int outOff) throws IllegalArgumentException, IndexOutOfBoundsException {
+        Base45.checkRange(in.length(), off, len);
+        Base45.checkRange(out.length, outOff, maxUpdateLength(len));
+        if (scratch == null) {
+            scratch = new byte[SCRATCH_TRIPLETS * 3];
+        }
+
+        int o = outOff;
+        for (int pos = off; pos < off + len; pos += scratch.length) {
+            final int n = Math.min(scratch.length, off + len - pos);
+            for (int x = 0; x < n; x++) {
+                final char c = in.charAt(pos + x);
+                if (c > 0xFF) {
+                    //Not a Base45 char; let the lookup report it.
+                    doReverseLookup(c, Base45.toLocation(charsRead + carryCount + x));
+                }
+                scratch[x] = (byte) c;
+            }
+            o += update(scratch, 0, n, out, o);
+        }
+        return o - outOff;
+    }
+
+    /**
+     * Convenience version of {@link #update(CharSequence, int, int, byte[], int)}, which allocates its output.
+     *
+     * @return The bytes decoded from every triplet completed by this chunk.
+     */
+    public byte[] update(final CharSequence in) throws IllegalArgumentException {
+        final byte[] out = new byte[maxUpdateLength(in.length())];
+        update(in, 0, in.length(), out, 0);
+        return out;
+    }
+
+    /**
+     * Ends the input, and decodes the trailing pair, if any. The decoder is reset afterwards
+     * (even if this throws), and can be reused for a new input.
+     *
+     * @param out Must have room for 1 byte, if a pair is pending.
+     * @return The number of bytes written into out; 0 or 1.
+     * @throws IllegalArgumentException If the input ended with a single trailing char, or the pair is not valid Base45.
+     */
+    public int finish(final byte[] out, final int outOff) throws IllegalArgumentException, IndexOutOfBoundsException {
+        Base45.checkRange(out.length, outOff, carryCount / 2);
+
+        try {
+            return Base45.decodeBlock(carry, 0, carryCount, out, outOff, Base45.toLocation(charsRead));
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Convenience version of {@link #finish(byte[], int)}, which allocates its output.
+     */
+    public byte[] finish() throws IllegalArgumentException {
+        final byte[] out = new byte[carryCount / 2];
+        finish(out, 0);
+        return out;
+    }
+
+    /**
+     * Discards any carried over chars, and starts a new input.
+     */
+    public void reset() {
+        carryCount = 0;
+        charsRead = 0;
+    }
+}
@@ -0,0 +1,134 @@
+package io.yurelle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CoderResult;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File level Base45 transcoder, for files too large to hold on the heap.
+ *
+ * The source file is memory-mapped in fixed windows, and each window is streamed
+ * through the NIO codec into a small direct buffer, which is drained to the
+ * destination channel. Peak heap use is constant, regardless of the file size.
+ *
+ * Window sizes must be a multiple of 6, so that every window boundary lands on
+ * a whole group both when encoding (2 bytes) and when decoding (3 chars).
+ *
+ * Usage: java -cp Base45Encoder.jar io.yurelle.Base45Files (encode|decode) &lt;source&gt; &lt;destination&gt;
+ */
+public class Base45Files {
+    /** 6 MiB; a multiple of both 2 & 3. */
+    public static final long DEFAULT_WINDOW_SIZE = 6L << 20;
+
+    private static final int OUTPUT_BUFFER_SIZE = 6 << 16;
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 3 || !(args[0].equals("encode") || args[0].equals("decode"))) {
+            System.err.println("Usage: java -cp Base45Encoder.jar io.yurelle.Base45Files (encode|decode) <source> <destination>");
+            System.exit(1);
+            return;
+        }
+
+        final Path src = Paths.get(args[1]);
+        final Path dst = Paths.get(args[2]);
+        final long start = System.nanoTime();
+        final long written = args[0].equals("encode") ? encode(src, dst) : decode(src, dst);
+        final long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(args[0] + "d '" + src + "' -> '" + dst + "' (" + written + " bytes) in " + millis + " ms");
+    }
+
+    /**
+     * Encodes the source file into the destination file, replacing it if it exists.
+     *
+     * @return The number of ASCII bytes written.
+     */
+    public static long encode(final Path src, final Path dst) throws IOException {
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+             FileChannel out = openDestination(dst)) {
+            return encode(in, out, DEFAULT_WINDOW_SIZE);
+        }
+    }
+
+    /**
+     * Decodes the source file into the destination file, replacing it if it exists.
+     *
+     * @return The number of bytes written.
+     * @throws IllegalArgumentException If the file is not valid Base45.
+     */
+    public static long decode(final Path src, final Path dst) throws IOException, IllegalArgumentException {
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+             FileChannel out = openDestination(dst)) {
+            return decode(in, out, DEFAULT_WINDOW_SIZE);
+        }
+    }
+
+    /**
+     * Encodes everything from the current position of the source channel to its end.
+     *
+     * @param windowSize Number of source bytes mapped at a time; must be a positive multiple of 6.
+     * @return The number of ASCII bytes written.
+     */
+    public static long encode(final FileChannel src, final WritableByteChannel dst, final long windowSize) throws IOException {
+        return transcode(src, dst, windowSize, true);
+    }
+
+    /**
+     * Decodes everything from the current position of the source channel to its end.
+     *
+     * @param windowSize Number of source chars mapped at a time; must be a positive multiple of 6.
+     * @return The number of bytes written.
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     */
+    public static long decode(final FileChannel src, final WritableByteChannel dst, final long windowSize) throws IOException, IllegalArgumentException {
+        return transcode(src, dst, windowSize, false);
+    }
+
+    private static long transcode(final FileChannel src, final WritableByteChannel dst, final long windowSize, final boolean encode) throws IOException {
+        if (windowSize <= 0 || windowSize % 6 != 0 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid window size '" + windowSize + "'! Must be a positive multiple of 6, within max array size.");
+        }
+
+        final ByteBuffer outBuf = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+        final long size = src.size();
+        long written = 0;
+        for (long pos = src.position(); pos < size; pos += windowSize) {
+            final long windowLen = Math.min(windowSize, size - pos);
+            final boolean last = pos + windowLen >= size;
+            final MappedByteBuffer window = src.map(FileChannel.MapMode.READ_ONLY, pos, windowLen);
+
+            CoderResult result;
+            do {
+                try {
+                    result = encode ? Base45.encode(window, outBuf, last) : Base45.decode(window, outBuf, last);
+                } catch (IllegalArgumentException e) {
+                    //Error locations are relative to the window
+                    throw new IllegalArgumentException("Failed in window at file offset '" + pos + "': " + e.getMessage(), e);
+                }
+                written += drain(outBuf, dst);
+            } while (result.isOverflow());
+        }
+        src.position(size);
+        return written;
+    }
+
+    private static int drain(final ByteBuffer buf, final WritableByteChannel dst) throws IOException {
+        buf.flip();
+        final int n = buf.remaining();
+        while (buf.hasRemaining()) {
+            dst.write(buf);
+        }
+        buf.clear();
+        return n;
+    }
+
+    private static FileChannel openDestination(final Path dst) throws IOException {
+        return FileChannel.open(dst, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+}
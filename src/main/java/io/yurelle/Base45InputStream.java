@@ -0,0 +1,187 @@
+package io.yurelle;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Checksum;
+
+/**
+ * Input stream filter which reads Base45 ASCII characters from the underlying
+ * stream, and returns the decoded bytes.
+ *
+ * Characters are read and decoded in bulk blocks, until the underlying stream
+ * reports EOF; it never relies on available(). Up to 2 characters of an
+ * incomplete triplet are carried over between reads, and are only decoded as
+ * a trailing pair once EOF has been reached.
+ *
+ * Invalid input is rejected with the same IllegalArgumentException as
+ * {@link Base45#decode(InputStream)}.
+ *
+ * Given a {@link Checksum}, each block of bytes is added to it as it is decoded. With
+ * a trailer, the last {@link Base45Checksums#TRAILER_BYTES} decoded bytes are held back
+ * as the expected value, and checked at EOF; a mismatch is rejected with an
+ * IllegalArgumentException, before EOF is returned. See: {@link Base45Checksums}
+ */
+public class Base45InputStream extends FilterInputStream {
+    private static final int BLOCK_TRIPLETS = 1024;
+
+    //Encoded ASCII read from the underlying stream, but not yet decoded
+    private final byte[] asciiBuf = new byte[BLOCK_TRIPLETS * 3];
+    private int asciiCount = 0;
+
+    //Decoded bytes waiting to be read; followed by the held back trailer candidate, if any
+    private final byte[] decodedBuf = new byte[BLOCK_TRIPLETS * 2 + Base45Checksums.TRAILER_BYTES];
+    private int decodedPos = 0;
+    private int decodedLimit = 0;
+    private int heldCount = 0;
+
+    //Number of source chars decoded so far; used for error locations.
+    private long charsRead = 0;
+
+    private final Checksum checksum;
+    private final boolean trailer;
+
+    private boolean eof = false;
+
+    public Base45InputStream(final InputStream in) {
+        this(in, null, false);
+    }
+
+    /**
+     * @param checksum Updated with every byte decoded; its value can be read once EOF has been returned.
+     */
+    public Base45InputStream(final InputStream in, final Checksum checksum) {
+        this(in, checksum, false);
+    }
+
+    /**
+     * @param checksum Updated with every byte decoded; should be fresh, or reset, if verifying a trailer.
+     * @param verifyTrailer Whether the input ends with the checksum's value; See: {@link Base45Checksums#TRAILER_BYTES}
+     */
+    public Base45InputStream(final InputStream in, final Checksum checksum, final boolean verifyTrailer) {
+        super(in);
+        if (verifyTrailer && checksum == null) {
+            throw new IllegalArgumentException("A checksum is required to verify a trailer!");
+        }
+        this.checksum = checksum;
+        this.trailer = verifyTrailer;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (decodedPos == decodedLimit && !fill()) {
+            return -1;
+        }
+        return decodedBuf[decodedPos++] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        Base45.checkRange(b.length, off, len);
+        if (len == 0) {
+            return 0;
+        }
+        if (decodedPos == decodedLimit && !fill()) {
+            return -1;
+        }
+
+        final int n = Math.min(len, decodedLimit - decodedPos);
+        System.arraycopy(decodedBuf, decodedPos, b, off, n);
+        decodedPos += n;
+        return n;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        //FilterInputStream would skip the encoded input, rather than the decoded output.
+        long remaining = n;
+        while (remaining > 0) {
+            if (decodedPos == decodedLimit && !fill()) {
+                break;
+            }
+            final int skipped = (int) Math.min(remaining, decodedLimit - decodedPos);
+            decodedPos += skipped;
+            remaining -= skipped;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return decodedLimit - decodedPos;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(final int readlimit) {
+        //Not Supported
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Refills the decoded buffer.
+     *
+     * @return false if EOF has been reached, and there is nothing left to decode.
+     */
+    private boolean fill() throws IOException {
+        //Bring the held back bytes to the front
+        System.arraycopy(decodedBuf, decodedLimit, decodedBuf, 0, heldCount);
+        decodedPos = 0;
+        decodedLimit = 0;
+        while (decodedLimit == 0) {
+            //Read until at least one whole triplet is available, or EOF
+            while (!eof && asciiCount < 3) {
+                readAscii();
+            }
+
+            if (asciiCount == 0) {
+                if (trailer) {
+                    checkTrailer(heldCount);
+                }
+                return false;
+            }
+
+            //Whole triplets, plus the trailing pair (or single char error) once at EOF
+            final int numChars = eof ? asciiCount : (asciiCount / 3) * 3;
+            final int total = heldCount + Base45.decodeBlock(asciiBuf, 0, numChars, decodedBuf, heldCount, Base45.toLocation(charsRead));
+            charsRead += numChars;
+
+            //Carry over the partial triplet
+            asciiCount -= numChars;
+            System.arraycopy(asciiBuf, numChars, asciiBuf, 0, asciiCount);
+
+            //Hold back what could still be the trailer
+            final int held = trailer ? Math.min(total, Base45Checksums.TRAILER_BYTES) : 0;
+            decodedLimit = total - held;
+            heldCount = held;
+            if (checksum != null) {
+                checksum.update(decodedBuf, 0, decodedLimit);
+            }
+        }
+        return true;
+    }
+
+    private void checkTrailer(final int total) {
+        if (total < Base45Checksums.TRAILER_BYTES) {
+            throw new IllegalArgumentException("Unexpected end of input at index '" + charsRead + "'! Expected " + Base45Checksums.TRAILER_BYTES + " bytes of checksum trailer.");
+        }
+        Base45Checksums.verifyTrailer(checksum.getValue(), decodedBuf, total - Base45Checksums.TRAILER_BYTES);
+    }
+
+    private void readAscii() throws IOException {
+        final int n = in.read(asciiBuf, asciiCount, asciiBuf.length - asciiCount);
+        if (n < 0) {
+            eof = true;
+        } else {
+            asciiCount += n;
+        }
+    }
+}
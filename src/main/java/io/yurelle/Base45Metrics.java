@@ -0,0 +1,132 @@
+package io.yurelle;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener for codec metrics; install one with {@link Base45#setMetrics(Base45Metrics)}.
+ *
+ * Calls are reported by the whole-input entry points of {@link Base45Codec} (and so, by
+ * the static methods of {@link Base45}), plus {@link Base45#tryDecode(CharSequence, int, int, byte[], int)}
+ * & {@link Base45#validate(byte[], int, int)}. When no listener is installed (and no
+ * Flight Recorder event is enabled) nothing is timed or reported.
+ *
+ * Listeners are called on the codec's calling thread, so they must be thread-safe &
+ * fast; see {@link Counters}.
+ */
+public interface Base45Metrics {
+    /**
+     * @param numBytes Input size.
+     * @param numChars Output size.
+     * @param nanos Time spent in the codec.
+     */
+    void encoded(int numBytes, int numChars, long nanos);
+
+    /**
+     * @param numChars Input size.
+     * @param numBytes Output size; when only validating, the size it would have been.
+     * @param nanos Time spent in the codec.
+     */
+    void decoded(int numChars, int numBytes, long nanos);
+
+    /**
+     * @param reason One of {@link Base45#ERROR_INVALID_CHAR}, {@link Base45#ERROR_OVERFLOW}, or {@link Base45#ERROR_TRUNCATED}.
+     * @param numChars Input size.
+     */
+    void rejected(int reason, int numChars);
+
+    /**
+     * Listener which adds everything up, in striped counters; so concurrent codec calls
+     * don't contend on a single cache line.
+     */
+    final class Counters implements Base45Metrics {
+        private final LongAdder encodeCalls = new LongAdder();
+        private final LongAdder bytesEncoded = new LongAdder();
+        private final LongAdder charsEncoded = new LongAdder();
+        private final LongAdder encodeNanos = new LongAdder();
+
+        private final LongAdder decodeCalls = new LongAdder();
+        private final LongAdder charsDecoded = new LongAdder();
+        private final LongAdder bytesDecoded = new LongAdder();
+        private final LongAdder decodeNanos = new LongAdder();
+
+        //Indexed by reason
+        private final LongAdder[] rejections = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+
+        @Override
+        public void encoded(final int numBytes, final int numChars, final long nanos) {
+            encodeCalls.increment();
+            bytesEncoded.add(numBytes);
+            charsEncoded.add(numChars);
+            encodeNanos.add(nanos);
+        }
+
+        @Override
+        public void decoded(final int numChars, final int numBytes, final long nanos) {
+            decodeCalls.increment();
+            charsDecoded.add(numChars);
+            bytesDecoded.add(numBytes);
+            decodeNanos.add(nanos);
+        }
+
+        @Override
+        public void rejected(final int reason, final int numChars) {
+            rejections[reason & 3].increment();
+        }
+
+        public long getEncodeCalls() {
+            return encodeCalls.sum();
+        }
+
+        /** Encoder input. */
+        public long getBytesEncoded() {
+            return bytesEncoded.sum();
+        }
+
+        /** Encoder output. */
+        public long getCharsEncoded() {
+            return charsEncoded.sum();
+        }
+
+        public long getEncodeNanos() {
+            return encodeNanos.sum();
+        }
+
+        /** Successful decode & validate calls. */
+        public long getDecodeCalls() {
+            return decodeCalls.sum();
+        }
+
+        /** Decoder input. */
+        public long getCharsDecoded() {
+            return charsDecoded.sum();
+        }
+
+        /** Decoder output. */
+        public long getBytesDecoded() {
+            return bytesDecoded.sum();
+        }
+
+        public long getDecodeNanos() {
+            return decodeNanos.sum();
+        }
+
+        /**
+         * @param reason One of {@link Base45#ERROR_INVALID_CHAR}, {@link Base45#ERROR_OVERFLOW}, or {@link Base45#ERROR_TRUNCATED}.
+         */
+        public long getRejections(final int reason) {
+            if (reason < Base45.ERROR_INVALID_CHAR || reason > Base45.ERROR_TRUNCATED) {
+                throw new IllegalArgumentException("Invalid reason '" + reason + "'!");
+            }
+            return rejections[reason].sum();
+        }
+
+        public void reset() {
+            for (final LongAdder adder : new LongAdder[] {encodeCalls, bytesEncoded, charsEncoded, encodeNanos, decodeCalls, charsDecoded, bytesDecoded, decodeNanos}) {
+                adder.reset();
+            }
+            for (final LongAdder adder : rejections) {
+                adder.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package io.yurelle;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits a payload across several Base45 strings (e.g. one per QR code), and puts
+ * them back together.
+ *
+ * Each part is a standalone Base45 string of: a 4 byte header (part index & part
+ * count; 2 bytes each, big endian), followed by its slice of the payload. The header
+ * is even, and so is every slice but the last, so each part is exactly the first 6
+ * header chars followed by the slice's own encoding; nothing is encoded twice.
+ *
+ * Every part but the last holds the same number of bytes, so the reassembler knows
+ * where each slice goes without any other metadata, and decodes the parts straight
+ * into their place in the output; in parallel, and in whatever order they were scanned.
+ */
+public class Base45MultiPart {
+    /** Header chars at the start of every part. */
+    public static final int HEADER_CHARS = 6;
+
+    /** Smallest usable part; the header plus one 2 byte group. */
+    public static final int MIN_PART_CHARS = HEADER_CHARS + 3;
+
+    public static final int MAX_PARTS = 0xFFFF;
+
+    /** Total input chars below which parts are not decoded in parallel. */
+    public static final int DEFAULT_THRESHOLD = 8 * 1024;
+
+    /**
+     * @param maxChars Max length of each part, header included; e.g. the alphanumeric capacity of the QR version in use.
+     * @return Number of parts the payload would be split into.
+     * @throws IllegalArgumentException If maxChars is less than {@link #MIN_PART_CHARS}, or more than {@link #MAX_PARTS} parts would be needed.
+     */
+    public static int partCount(final int numBytes, final int maxChars) throws IllegalArgumentException {
+        final int sliceBytes = sliceBytes(maxChars);
+        final int numParts = Math.max(1, (int) (((long) numBytes + sliceBytes - 1) / sliceBytes));
+        if (numParts > MAX_PARTS) {
+            throw new IllegalArgumentException("Payload of '" + numBytes + "' bytes needs '" + numParts + "' parts of '" + maxChars + "' chars! Max is " + MAX_PARTS + " parts.");
+        }
+        return numParts;
+    }
+
+    /**
+     * Splits the payload on 2 byte group boundaries, into parts of at most maxChars each.
+     *
+     * @param maxChars Max length of each part, header included; e.g. the alphanumeric capacity of the QR version in use.
+     * @throws IllegalArgumentException If maxChars is less than {@link #MIN_PART_CHARS}, or more than {@link #MAX_PARTS} parts would be needed.
+     */
+    public static String[] split(final byte[] payload, final int maxChars) throws IllegalArgumentException {
+        final int sliceBytes = sliceBytes(maxChars);
+        final int numParts = partCount(payload.length, maxChars);
+
+        final String[] parts = new String[numParts];
+        final byte[] header = new byte[4];
+        final byte[] ascii = new byte[HEADER_CHARS + Base45.encodedLength(Math.min(sliceBytes, payload.length))];
+        for (int x = 0; x < numParts; x++) {
+            header[0] = (byte) (x >>> 8);
+            header[1] = (byte) x;
+            header[2] = (byte) (numParts >>> 8);
+            header[3] = (byte) numParts;
+            Base45.encodeBlock(header, 0, 4, ascii, 0, 0);
+
+            final int off = x * sliceBytes;
+            final int len = Math.min(sliceBytes, payload.length - off);
+            final int numChars = HEADER_CHARS + Base45.encodeBlock(payload, off, len, ascii, HEADER_CHARS, off);
+
+            //The Encoding Specified in the Standard; See: Section 4, Paragraph 2
+            parts[x] = new String(ascii, 0, numChars, StandardCharsets.US_ASCII);
+        }
+        return parts;
+    }
+
+    /**
+     * @param parts Every part, in any order.
+     * @return The original payload.
+     * @throws IllegalArgumentException If any part is not valid Base45, or the parts are not a complete, consistent set.
+     */
+    public static byte[] join(final CharSequence[] parts) throws IllegalArgumentException {
+        return join(parts, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param parts Every part, in any order.
+     * @param threshold Total input chars, below which parts are decoded on the calling thread.
+     * @return The original payload.
+     * @throws IllegalArgumentException If any part is not valid Base45, or the parts are not a complete, consistent set.
+     */
+    public static byte[] join(final CharSequence[] parts, final ForkJoinPool pool, final int threshold) throws IllegalArgumentException {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Invalid threshold '" + threshold + "'! Must be at least 1.");
+        }
+        if (parts.length == 0) {
+            throw new IllegalArgumentException("Joining Failed! No parts.");
+        }
+
+        //Headers: which part goes where
+        final int[] indexes = new int[parts.length];
+        final CharSequence[] ordered = new CharSequence[parts.length];
+        final byte[] header = new byte[4];
+        int sliceBytes = 0;
+        for (int x = 0; x < parts.length; x++) {
+            final CharSequence part = parts[x];
+            if (part.length() < HEADER_CHARS || Base45.tryDecode(part, 0, HEADER_CHARS, header, 0) < 0) {
+                throw new IllegalArgumentException("Joining Failed! Part '" + x + "' does not start with a valid header.");
+            }
+            final int index = ((header[0] & 0xFF) << 8) | (header[1] & 0xFF);
+            final int numParts = ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+            if (numParts != parts.length || index >= numParts) {
+                throw new IllegalArgumentException("Joining Failed! Part '" + x + "' is part " + (index + 1) + " of " + numParts + ", but " + parts.length + " parts were given.");
+            }
+            if (ordered[index] != null) {
+                throw new IllegalArgumentException("Joining Failed! Part " + (index + 1) + " was given more than once.");
+            }
+            ordered[index] = part;
+            indexes[x] = index;
+
+            //Every part but the last holds a full slice
+            final int partBytes = Base45.decodedLength(part.length() - HEADER_CHARS);
+            sliceBytes = Math.max(sliceBytes, partBytes);
+        }
+
+        //Slice sizes; every part but the last must be a full slice
+        for (int x = 0; x < ordered.length - 1; x++) {
+            if (Base45.decodedLength(ordered[x].length() - HEADER_CHARS) != sliceBytes || sliceBytes % 2 != 0) {
+                throw new IllegalArgumentException("Joining Failed! Part " + (x + 1) + " of " + ordered.length + " is not a full slice of " + sliceBytes + " bytes.");
+            }
+        }
+        final long numBytes = (long) sliceBytes * (ordered.length - 1) + Base45.decodedLength(ordered[ordered.length - 1].length() - HEADER_CHARS);
+        if (numBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Joining Failed! Payload of '" + numBytes + "' bytes exceeds max array size.");
+        }
+
+        //Running char totals, so any range of parts can be sized without summing it again
+        final long[] charEnds = new long[ordered.length + 1];
+        for (int x = 0; x < ordered.length; x++) {
+            charEnds[x + 1] = charEnds[x] + ordered[x].length();
+        }
+
+        final byte[] out = new byte[(int) numBytes];
+        final JoinTask task = new JoinTask(ordered, charEnds, 0, ordered.length, sliceBytes, out, threshold);
+        if (charEnds[ordered.length] < threshold) {
+            task.compute();
+        } else {
+            Base45.invoke(pool, task);
+        }
+        return out;
+    }
+
+    private static int sliceBytes(final int maxChars) {
+        if (maxChars < MIN_PART_CHARS) {
+            throw new IllegalArgumentException("Invalid max part length '" + maxChars + "'! Must be at least " + MIN_PART_CHARS + " chars.");
+        }
+
+        //Whole 2 byte groups only, so every part but the last is even
+        return ((maxChars - HEADER_CHARS) / 3) * 2;
+    }
+
+    /**
+     * Decodes parts [from, to) into their slices of out; splitting by part until each range is under the threshold.
+     */
+    private static class JoinTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CharSequence[] ordered;
+        private final long[] charEnds;
+        private final int from;
+        private final int to;
+        private final int sliceBytes;
+        private final byte[] out;
+        private final int threshold;
+
+        JoinTask(final CharSequence[] ordered, final long[] charEnds, final int from, final int to, final int sliceBytes, final byte[] out, final int threshold) {
+            this.ordered = ordered;
+            this.charEnds = charEnds;
+            this.from = from;
+            this.to = to;
+            this.sliceBytes = sliceBytes;
+            this.out = out;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            final long numChars = charEnds[to] - charEnds[from];
+            if (to - from < 2 || numChars < threshold) {
+                for (int x = from; x < to; x++) {
+                    final CharSequence part = ordered[x];
+                    final long result = Base45.tryDecode(part, HEADER_CHARS, part.length() - HEADER_CHARS, out, x * sliceBytes);
+                    if (result < 0) {
+                        //Locations are relative to the part, header included
+                        throw new IllegalArgumentException("Failed in part " + (x + 1) + " of " + ordered.length + ": reason " + Base45.errorReason(result) + " at index '" + (HEADER_CHARS + Base45.errorIndex(result)) + "'.");
+                    }
+                }
+                return;
+            }
+
+            final int mid = (from + to) >>> 1;
+            invokeAll(
+                    new JoinTask(ordered, charEnds, from, mid, sliceBytes, out, threshold),
+                    new JoinTask(ordered, charEnds, mid, to, sliceBytes, out, threshold)
+            );
+        }
+    }
+}
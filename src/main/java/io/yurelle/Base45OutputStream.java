@@ -0,0 +1,198 @@
+package io.yurelle;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Checksum;
+
+/**
+ * Output stream filter which Base45 encodes the bytes written to it, and
+ * writes the resulting ASCII characters to the underlying stream.
+ *
+ * Bytes are encoded in bulk blocks. An odd trailing byte is held back until
+ * either its partner is written, or the stream is finished; so the encoded
+ * output is identical to {@link Base45#encode(byte[])} no matter how the
+ * input was split across calls to write().
+ *
+ * {@link #finish()} or {@link #close()} must be called to flush out a
+ * trailing odd byte.
+ *
+ * Given a {@link Checksum}, each block of bytes is added to it as it is encoded;
+ * and with a trailer, its value is written after the data on finish(). See:
+ * {@link Base45Checksums}
+ */
+public class Base45OutputStream extends FilterOutputStream {
+    private static final int BLOCK_PAIRS = 1024;
+
+    //Encoded ASCII waiting to be written out
+    private final byte[] asciiBuf = new byte[BLOCK_PAIRS * 3];
+    private int asciiCount = 0;
+
+    //Odd byte carried over between calls to write()
+    private final byte[] pair = new byte[2];
+    private boolean hasPending = false;
+
+    //Number of source bytes consumed so far; used for error locations.
+    private long bytesRead = 0;
+
+    private final Checksum checksum;
+    private final boolean trailer;
+
+    private boolean finished = false;
+    private boolean closed = false;
+
+    public Base45OutputStream(final OutputStream out) {
+        this(out, null, false);
+    }
+
+    /**
+     * @param checksum Updated with every byte written; its value can be read once the stream is finished.
+     */
+    public Base45OutputStream(final OutputStream out, final Checksum checksum) {
+        this(out, checksum, false);
+    }
+
+    /**
+     * @param checksum Updated with every byte written; should be fresh, or reset, if appending a trailer.
+     * @param appendTrailer Whether to write the checksum's value after the data; See: {@link Base45Checksums#TRAILER_BYTES}
+     */
+    public Base45OutputStream(final OutputStream out, final Checksum checksum, final boolean appendTrailer) {
+        super(out);
+        if (appendTrailer && checksum == null) {
+            throw new IllegalArgumentException("A checksum is required to append a trailer!");
+        }
+        this.checksum = checksum;
+        this.trailer = appendTrailer;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (finished) {
+            throw new IOException("Stream already finished!");
+        }
+        if (hasPending) {
+            pair[1] = (byte) b;
+            hasPending = false;
+            encodeToBuffer(pair, 0, 2);
+        } else {
+            pair[0] = (byte) b;
+            hasPending = true;
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException {
+        Base45.checkRange(b.length, off, len);
+        if (finished) {
+            throw new IOException("Stream already finished!");
+        }
+        if (len == 0) {
+            return;
+        }
+
+        //Complete the pending pair
+        if (hasPending) {
+            pair[1] = b[off++];
+            len--;
+            hasPending = false;
+            encodeToBuffer(pair, 0, 2);
+        }
+
+        //Bulk encode all whole pairs
+        while (len >= 2) {
+            final int pairs = Math.min(len / 2, (asciiBuf.length - asciiCount) / 3);
+            if (pairs == 0) {
+                flushBuffer();
+                continue;
+            }
+            encodeToBuffer(b, off, pairs * 2);
+            off += pairs * 2;
+            len -= pairs * 2;
+        }
+
+        //Hold back odd byte
+        if (len == 1) {
+            pair[0] = b[off];
+            hasPending = true;
+        }
+    }
+
+    /**
+     * Writes out the trailing odd byte (if any) and all buffered output, without
+     * closing the underlying stream. No more bytes can be written afterwards.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (trailer) {
+            writeTrailer();
+        }
+        if (hasPending) {
+            hasPending = false;
+            encodeToBuffer(pair, 0, 1);
+        }
+        finished = true;
+        flushBuffer();
+    }
+
+    /**
+     * Flushes all whole groups encoded so far. A trailing odd byte is not flushed,
+     * since its final encoding depends on whether another byte follows.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            finish();
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void encodeToBuffer(final byte[] src, final int off, final int len) throws IOException {
+        if (asciiBuf.length - asciiCount < 3) {
+            flushBuffer();
+        }
+        asciiCount += Base45.encodeBlock(src, off, len, asciiBuf, asciiCount, Base45.toLocation(bytesRead));
+        bytesRead += len;
+        if (checksum != null) {
+            checksum.update(src, off, len);
+        }
+    }
+
+    //The trailer goes through the same pairing as the data, but not into the checksum
+    private void writeTrailer() throws IOException {
+        final byte[] tail = new byte[1 + Base45Checksums.TRAILER_BYTES];
+        int t = 0;
+        if (hasPending) {
+            hasPending = false;
+            tail[t++] = pair[0];
+            checksum.update(pair, 0, 1);
+        }
+        t = Base45Checksums.putTrailer(checksum.getValue(), tail, t);
+
+        if (asciiBuf.length - asciiCount < Base45.encodedLength(t)) {
+            flushBuffer();
+        }
+        asciiCount += Base45.encodeBlock(tail, 0, t, asciiBuf, asciiCount, Base45.toLocation(bytesRead));
+        bytesRead += t;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (asciiCount > 0) {
+            out.write(asciiBuf, 0, asciiCount);
+            asciiCount = 0;
+        }
+    }
+}
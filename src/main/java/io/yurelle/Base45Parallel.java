@@ -0,0 +1,188 @@
+package io.yurelle;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/Join versions of the Base45 array codec, for large payloads.
+ *
+ * Every 2 source bytes map to their own 3 chars, so the input can be split at any
+ * even byte offset (or any multiple of 3 chars when decoding). Each chunk is encoded
+ * or decoded straight into its precomputed slice of a single output array.
+ *
+ * Inputs smaller than the threshold are run on the calling thread, through the
+ * regular {@link Base45} methods.
+ *
+ * If the input contains more than one invalid group, which one gets reported is
+ * not defined, since the chunks are processed concurrently.
+ */
+public class Base45Parallel {
+    /** Input size (bytes when encoding, chars when decoding) below which work is not split up. */
+    public static final int DEFAULT_THRESHOLD = 1 << 20;
+
+    public static String encode(final byte[] inputData) {
+        return encode(inputData, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public static String encode(final byte[] inputData, final ForkJoinPool pool, final int threshold) {
+        final byte[] out = new byte[Base45.encodedLength(inputData.length)];
+        encode(inputData, 0, inputData.length, out, 0, pool, threshold);
+
+        //The Encoding Specified in the Standard; See: Section 4, Paragraph 2
+        return new String(out, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Parallel version of {@link Base45#encode(byte[], int, int, byte[], int)}.
+     *
+     * @param threshold Chunk size in bytes, below which work is not split any further.
+     * @return The number of ASCII bytes written into dst.
+     */
+    public static int encode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final ForkJoinPool pool, final int threshold) throws IndexOutOfBoundsException {
+        checkThreshold(threshold);
+        Base45.checkRange(src.length, off, len);
+        Base45.checkRange(dst.length, dstOff, Base45.encodedLength(len));
+
+        if (len < threshold) {
+            return Base45.encodeBlock(src, off, len, dst, dstOff, 0);
+        }
+        Base45.invoke(pool, new EncodeTask(src, off, 0, len, dst, dstOff, threshold));
+        return Base45.encodedLength(len);
+    }
+
+    public static byte[] decode(final String inputStr) throws IllegalArgumentException {
+        return decode(inputStr, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Decodes the chars in place, like {@link Base45#decode(String)}; there is no intermediate byte[] conversion.
+     */
+    public static byte[] decode(final String inputStr, final ForkJoinPool pool, final int threshold) throws IllegalArgumentException {
+        checkThreshold(threshold);
+        final int len = inputStr.length();
+        if (len < threshold) {
+            return Base45Codec.DEFAULT.decode(inputStr);
+        }
+
+        final byte[] out = new byte[(len / 3) * 2 + (len % 3) / 2];
+        Base45.invoke(pool, new DecodeTask(null, inputStr, 0, 0, len, out, 0, threshold));
+        return out;
+    }
+
+    /**
+     * Parallel version of {@link Base45#decode(byte[], int, int, byte[], int)}.
+     *
+     * @param threshold Chunk size in chars, below which work is not split any further.
+     * @return The number of bytes written into dst.
+     */
+    public static int decode(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff, final ForkJoinPool pool, final int threshold) throws IllegalArgumentException, IndexOutOfBoundsException {
+        checkThreshold(threshold);
+        Base45.checkRange(src.length, off, len);
+        final int decodedLen = (len / 3) * 2 + (len % 3) / 2;
+        Base45.checkRange(dst.length, dstOff, decodedLen);
+
+        if (len < threshold) {
+            return Base45.decodeBlock(src, off, len, dst, dstOff, 0);
+        }
+        Base45.invoke(pool, new DecodeTask(src, null, off, 0, len, dst, dstOff, threshold));
+        return decodedLen;
+    }
+
+    private static void checkThreshold(final int threshold) {
+        if (threshold < 6) {
+            throw new IllegalArgumentException("Invalid threshold '" + threshold + "'! Must be at least 6.");
+        }
+    }
+
+    /**
+     * Encodes src[base + start, base + end) into its slice of dst.
+     */
+    private static class EncodeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] src;
+        private final int base;
+        private final int start;
+        private final int end;
+        private final byte[] dst;
+        private final int dstBase;
+        private final int threshold;
+
+        EncodeTask(final byte[] src, final int base, final int start, final int end, final byte[] dst, final int dstBase, final int threshold) {
+            this.src = src;
+            this.base = base;
+            this.start = start;
+            this.end = end;
+            this.dst = dst;
+            this.dstBase = dstBase;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            final int len = end - start;
+            if (len < threshold) {
+                //start is always even, so each pair's output lands at (start / 2) * 3
+                Base45.encodeBlock(src, base + start, len, dst, dstBase + (start / 2) * 3, start);
+                return;
+            }
+
+            //Split on a 2 byte boundary
+            final int mid = start + ((len / 2) & ~1);
+            invokeAll(
+                    new EncodeTask(src, base, start, mid, dst, dstBase, threshold),
+                    new EncodeTask(src, base, mid, end, dst, dstBase, threshold)
+            );
+        }
+    }
+
+    /**
+     * Decodes src[base + start, base + end) into its slice of dst; src is either ASCII bytes, or chars.
+     */
+    private static class DecodeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] src;
+        private final CharSequence chars;
+        private final int base;
+        private final int start;
+        private final int end;
+        private final byte[] dst;
+        private final int dstBase;
+        private final int threshold;
+
+        DecodeTask(final byte[] src, final CharSequence chars, final int base, final int start, final int end, final byte[] dst, final int dstBase, final int threshold) {
+            this.src = src;
+            this.chars = chars;
+            this.base = base;
+            this.start = start;
+            this.end = end;
+            this.dst = dst;
+            this.dstBase = dstBase;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            final int len = end - start;
+            if (len < threshold) {
+                //start is always a multiple of 3, so each triplet's output lands at (start / 3) * 2
+                if (chars != null) {
+                    Base45Codec.DEFAULT.decodeChars(chars, base + start, len, dst, dstBase + (start / 3) * 2, start);
+                } else {
+                    Base45.decodeBlock(src, base + start, len, dst, dstBase + (start / 3) * 2, start);
+                }
+                return;
+            }
+
+            //Split on a 3 char boundary
+            final int half = len / 2;
+            final int mid = start + (half - half % 3);
+            invokeAll(
+                    new DecodeTask(src, chars, base, start, mid, dst, dstBase, threshold),
+                    new DecodeTask(src, chars, base, mid, end, dst, dstBase, threshold)
+            );
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.yurelle;
+
+import static io.yurelle.SecureLookupWrapper.doDigitCheck;
+
+/**
+ * Writes raw bytes straight into a QR code alphanumeric mode segment, without
+ * building the intermediate Base45 String.
+ *
+ * The Base45 alphabet is exactly the QR alphanumeric table, in the same order; so
+ * each Base45 digit already is its QR character value. Consecutive digits are
+ * packed in pairs into 11-bit codewords (45 * first + second), and a final odd
+ * digit into 6 bits. See: ISO/IEC 18004, Section 7.4.4
+ *
+ * Bits are written most significant bit first, as the QR standard lays them out:
+ * bit i of a byte[] buffer is bit (7 - i % 8) of buf[i / 8], and bit i of a long[]
+ * buffer is bit (63 - i % 64) of buf[i / 64].
+ */
+public class Base45Qr {
+    /** Mode indicator of an alphanumeric segment: 0010 */
+    public static final int MODE_ALPHANUMERIC = 0x2;
+
+    public static final int MIN_VERSION = 1;
+    public static final int MAX_VERSION = 40;
+
+    /**
+     * Length of the character count indicator, which depends on the version group.
+     * Any version within a group gives the same segment.
+     *
+     * @param version QR code version; 1 - 40.
+     * @return 9 bits for versions 1 - 9, 11 bits for 10 - 26, and 13 bits for 27 - 40.
+     */
+    public static int characterCountBits(final int version) throws IllegalArgumentException {
+        if (version < MIN_VERSION || version > MAX_VERSION) {
+            throw new IllegalArgumentException("Invalid QR version '" + version + "'! Must be within: " + MIN_VERSION + " - " + MAX_VERSION);
+        }
+        return version <= 9 ? 9 : (version <= 26 ? 11 : 13);
+    }
+
+    /**
+     * @return Number of bits in the segment (header included) for the given number of source bytes.
+     */
+    public static long segmentBitLength(final int numBytes, final int version) throws IllegalArgumentException {
+        final int numChars = Base45.encodedLength(numBytes);
+        return 4 + characterCountBits(version) + (long) (numChars / 2) * 11 + (numChars % 2) * 6;
+    }
+
+    /**
+     * Writes the complete alphanumeric segment (mode indicator, character count, and data)
+     * for src[off, off + len) into the bit buffer.
+     *
+     * @return The bit offset just past the end of the segment.
+     * @throws IllegalArgumentException If the encoded length does not fit the version's character count indicator.
+     * @throws IndexOutOfBoundsException If the source range is invalid, or the buffer is too small.
+     */
+    public static long appendSegment(final byte[] src, final int off, final int len, final int version, final byte[] bits, final long bitOffset) throws IllegalArgumentException, IndexOutOfBoundsException {
+        checkBuffer(len, version, (long) bits.length * 8, bitOffset);
+        return appendSegment(src, off, len, version, new ByteSink(bits), bitOffset);
+    }
+
+    /**
+     * Writes the complete alphanumeric segment (mode indicator, character count, and data)
+     * for src[off, off + len) into the bit buffer.
+     *
+     * @return The bit offset just past the end of the segment.
+     * @throws IllegalArgumentException If the encoded length does not fit the version's character count indicator.
+     * @throws IndexOutOfBoundsException If the source range is invalid, or the buffer is too small.
+     */
+    public static long appendSegment(final byte[] src, final int off, final int len, final int version, final long[] bits, final long bitOffset) throws IllegalArgumentException, IndexOutOfBoundsException {
+        checkBuffer(len, version, (long) bits.length * 64, bitOffset);
+        return appendSegment(src, off, len, version, new LongSink(bits), bitOffset);
+    }
+
+    private static void checkBuffer(final int len, final int version, final long capacityBits, final long bitOffset) {
+        final long segmentBits = segmentBitLength(len, version);
+        if (bitOffset < 0 || bitOffset > capacityBits - segmentBits) {
+            throw new IndexOutOfBoundsException("Segment of " + segmentBits + " bits at bit offset " + bitOffset + " does not fit in a buffer of " + capacityBits + " bits");
+        }
+    }
+
+    private static long appendSegment(final byte[] src, final int off, final int len, final int version, final BitSink sink, long pos) {
+        Base45.checkRange(src.length, off, len);
+
+        //Header
+        final int countBits = characterCountBits(version);
+        final int numChars = Base45.encodedLength(len);
+        if (numChars >= (1 << countBits)) {
+            throw new IllegalArgumentException("Encoded length of '" + numChars + "' chars exceeds the " + countBits + " bit character count of QR version '" + version + "'.");
+        }
+        pos = sink.put(pos, MODE_ALPHANUMERIC, 4);
+        pos = sink.put(pos, numChars, countBits);
+
+        //Data - Base45 digits, straight from the source bytes.
+        //
+        //Every 2 bytes give 3 digits, so 2 groups (6 digits) make exactly 3 codewords.
+        //A digit left over from an odd group is carried into the next one.
+        final int pairEnd = off + (len & ~1);
+        int pending = -1;
+        int s = off;
+        while (s < pairEnd) {
+            //Unified Bytes
+            final int n = ((src[s] & 0xFF) << 8) | (src[s + 1] & 0xFF);
+            s += 2;
+
+            //e
+            final int e           = n / (45 * 45);
+            final int e_remainder = n % (45 * 45);
+
+            //d & c
+            final int d = e_remainder / 45;
+            final int c = e_remainder % 45;
+
+            final int bytesRead = s - off;
+            if (pending < 0) {
+                pos = sink.put(pos, doDigitCheck(c, bytesRead) * 45 + doDigitCheck(d, bytesRead), 11);
+                pending = doDigitCheck(e, bytesRead);
+            } else {
+                pos = sink.put(pos, pending * 45 + doDigitCheck(c, bytesRead), 11);
+                pos = sink.put(pos, doDigitCheck(d, bytesRead) * 45 + doDigitCheck(e, bytesRead), 11);
+                pending = -1;
+            }
+        }
+
+        if (s < off + len) {//Only One Source Byte
+            final int a = src[s++] & 0xFF;
+            final int c = a % 45;
+            final int d = a / 45;
+
+            final int bytesRead = s - off;
+            if (pending < 0) {
+                pos = sink.put(pos, doDigitCheck(c, bytesRead) * 45 + doDigitCheck(d, bytesRead), 11);
+            } else {
+                pos = sink.put(pos, pending * 45 + doDigitCheck(c, bytesRead), 11);
+                pending = doDigitCheck(d, bytesRead);
+            }
+        }
+
+        //Final odd digit
+        if (pending >= 0) {
+            pos = sink.put(pos, pending, 6);
+        }
+        return pos;
+    }
+
+    /**
+     * Most significant bit first bit writer, over the caller's buffer.
+     */
+    private static abstract class BitSink {
+        /**
+         * Overwrites numBits bits at pos with the low bits of value.
+         *
+         * @return pos + numBits
+         */
+        abstract long put(long pos, int value, int numBits);
+    }
+
+    private static final class ByteSink extends BitSink {
+        private final byte[] buf;
+
+        ByteSink(final byte[] buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        long put(long pos, final int value, int numBits) {
+            while (numBits > 0) {
+                final int index = (int) (pos >>> 3);
+                final int free = 8 - (int) (pos & 7);
+                final int n = Math.min(free, numBits);
+                final int shift = free - n;
+                final int mask = ((1 << n) - 1) << shift;
+                final int chunk = (value >>> (numBits - n)) << shift;
+                buf[index] = (byte) ((buf[index] & ~mask) | (chunk & mask));
+
+                pos += n;
+                numBits -= n;
+            }
+            return pos;
+        }
+    }
+
+    private static final class LongSink extends BitSink {
+        private final long[] buf;
+
+        LongSink(final long[] buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        long put(long pos, final int value, int numBits) {
+            while (numBits > 0) {
+                final int index = (int) (pos >>> 6);
+                final int free = 64 - (int) (pos & 63);
+                final int n = Math.min(free, numBits);
+                final int shift = free - n;
+                final long mask = ((1L << n) - 1) << shift;
+                final long chunk = ((long) (value >>> (numBits - n))) << shift;
+                buf[index] = (buf[index] & ~mask) | (chunk & mask);
+
+                pos += n;
+                numBits -= n;
+            }
+            return pos;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package io.yurelle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Transcodes between Base64 and Base45 through small rolling windows, without
+ * materializing the binary payload.
+ *
+ * Every window is 8K Base64 chars, 6K bytes, and 9K Base45 chars; i.e. whole units
+ * of both encodings (4 chars / 3 bytes, and 2 bytes / 3 chars). So only the last
+ * window can hold Base64 padding or an odd Base45 group, and the output is identical
+ * to the two step path; e.g. Base45.encode(Base64.getDecoder().decode(base64)).
+ *
+ * Base64 is the basic alphabet of RFC 4648 (See: {@link Base64#getDecoder()}), and is
+ * validated by the JDK's decoder; line separators are not allowed. Base45 input gets
+ * the same security checks as {@link Base45#decode(String)}.
+ */
+public final class Base45Transcoder {
+    private static final int WINDOW_UNITS = 2 * 1024;
+    private static final int BASE64_WINDOW = WINDOW_UNITS * 4;
+    private static final int BYTES_WINDOW = WINDOW_UNITS * 3;
+    private static final int BASE45_WINDOW = (BYTES_WINDOW / 2) * 3;
+
+    private Base45Transcoder() {
+    }
+
+    /**
+     * @return The same as Base45.encode(Base64.getDecoder().decode(base64))
+     * @throws IllegalArgumentException If the input is not valid Base64.
+     */
+    public static String base64ToBase45(final CharSequence base64) throws IllegalArgumentException {
+        final int len = base64.length();
+        final byte[] in = new byte[Math.min(len, BASE64_WINDOW)];
+        final byte[] raw = new byte[BYTES_WINDOW];
+        final byte[] out = new byte[Base45.encodedLength((int) Math.min(Integer.MAX_VALUE, ((long) len + 3) / 4 * 3))];
+        final Base64.Decoder decoder = Base64.getDecoder();
+
+        int o = 0;
+        for (int p = 0; p < len; p += BASE64_WINDOW) {
+            final int n = Math.min(BASE64_WINDOW, len - p);
+            for (int x = 0; x < n; x++) {
+                //Same bytes as Base64.Decoder.decode(String), which reads the String as ISO-8859-1
+                final char c = base64.charAt(p + x);
+                in[x] = c > 0xFF ? (byte) '?' : (byte) c;
+            }
+            final int numBytes = decodeBase64(decoder, in, n, p + n == len, raw, p);
+            o += Base45.encodeBlock(raw, 0, numBytes, out, o, Base45.toLocation(p / 4 * 3L));
+        }
+        return new String(out, 0, o, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return The same as Base64.getEncoder().encodeToString(Base45.decode(base45))
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     */
+    public static String base45ToBase64(final CharSequence base45) throws IllegalArgumentException {
+        final int len = base45.length();
+        final int numBytes = Base45.decodedLength(len);
+        final byte[] raw = new byte[Math.min(numBytes, BYTES_WINDOW)];
+        final byte[] window = new byte[BASE64_WINDOW];
+        final byte[] out = new byte[(int) Math.min(Integer.MAX_VALUE, ((long) numBytes + 2) / 3 * 4)];
+        final Base64.Encoder encoder = Base64.getEncoder();
+
+        int o = 0;
+        for (int p = 0; p < len; p += BASE45_WINDOW) {
+            final int n = Base45Codec.DEFAULT.decodeChars(base45, p, Math.min(BASE45_WINDOW, len - p), raw, 0, p);
+            final int numChars = encodeBase64(encoder, raw, n, window);
+            System.arraycopy(window, 0, out, o, numChars);
+            o += numChars;
+        }
+        return new String(out, 0, o, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Transcodes Base64 ASCII until EOF. Neither stream is closed.
+     *
+     * @return Number of Base45 chars written.
+     * @throws IllegalArgumentException If the input is not valid Base64.
+     */
+    public static long base64ToBase45(final InputStream base64In, final OutputStream base45Out) throws IOException, IllegalArgumentException {
+        final byte[] in = new byte[BASE64_WINDOW];
+        final byte[] raw = new byte[BYTES_WINDOW];
+        final byte[] out = new byte[BASE45_WINDOW];
+        final Base64.Decoder decoder = Base64.getDecoder();
+
+        //A full window is only the last one if nothing follows it; so one byte is read ahead
+        int lookahead = base64In.read();
+        long charsRead = 0;
+        long written = 0;
+        while (lookahead >= 0) {
+            in[0] = (byte) lookahead;
+            final int n = 1 + readFully(base64In, in, 1, in.length - 1);
+            lookahead = n == in.length ? base64In.read() : -1;
+
+            final int numBytes = decodeBase64(decoder, in, n, lookahead < 0, raw, charsRead);
+            final int numChars = Base45.encodeBlock(raw, 0, numBytes, out, 0, Base45.toLocation(charsRead / 4 * 3));
+            base45Out.write(out, 0, numChars);
+            charsRead += n;
+            written += numChars;
+        }
+        return written;
+    }
+
+    /**
+     * Transcodes Base45 ASCII until EOF. Neither stream is closed.
+     *
+     * @return Number of Base64 chars written.
+     * @throws IllegalArgumentException If the input is not valid Base45.
+     */
+    public static long base45ToBase64(final InputStream base45In, final OutputStream base64Out) throws IOException, IllegalArgumentException {
+        final byte[] in = new byte[BASE45_WINDOW];
+        final byte[] raw = new byte[BYTES_WINDOW];
+        final byte[] out = new byte[BASE64_WINDOW];
+        final Base64.Encoder encoder = Base64.getEncoder();
+
+        //Full windows are whole Base64 units; so unlike the other direction, it doesn't matter which one is last
+        long charsRead = 0;
+        long written = 0;
+        int n;
+        while ((n = readFully(base45In, in, 0, in.length)) > 0) {
+            final int numBytes = Base45.decodeBlock(in, 0, n, raw, 0, Base45.toLocation(charsRead));
+            final int numChars = encodeBase64(encoder, raw, numBytes, out);
+            base64Out.write(out, 0, numChars);
+            charsRead += n;
+            written += numChars;
+        }
+        return written;
+    }
+
+    /**
+     * Decodes one window of Base64. Padding is only allowed in the last window; anywhere
+     * else it would also be rejected by a decoder given the whole input.
+     *
+     * @param position Index of in[0] within the overall input, for error messages.
+     * @return Number of bytes written to raw.
+     */
+    private static int decodeBase64(final Base64.Decoder decoder, final byte[] in, final int len, final boolean last, final byte[] raw, final long position) throws IllegalArgumentException {
+        final int numBytes;
+        try {
+            numBytes = decoder.decode(len == in.length ? in : Arrays.copyOf(in, len), raw);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid Base64 input within chars [" + position + ", " + (position + len) + ")! " + e.getMessage(), e);
+        }
+        if (!last && numBytes != BYTES_WINDOW) {
+            throw new IllegalArgumentException("Invalid Base64 input within chars [" + position + ", " + (position + len) + ")! Padding before the end of input.");
+        }
+        return numBytes;
+    }
+
+    /**
+     * Encodes one window into Base64; only the last one can be partial, and padded.
+     *
+     * @return Number of chars written to out.
+     */
+    private static int encodeBase64(final Base64.Encoder encoder, final byte[] raw, final int len, final byte[] out) {
+        return encoder.encode(len == raw.length ? raw : Arrays.copyOf(raw, len), out);
+    }
+
+    /**
+     * @return Number of bytes read; less than len only at EOF.
+     */
+    private static int readFully(final InputStream in, final byte[] buf, final int off, final int len) throws IOException {
+        int total = 0;
+        while (total < len) {
+            final int n = in.read(buf, off + total, len - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+}
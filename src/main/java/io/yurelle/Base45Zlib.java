@@ -0,0 +1,189 @@
+package io.yurelle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static io.yurelle.SecureLookupWrapper.doReverseLookup;
+
+/**
+ * Fused zlib + Base45 pipeline, for payloads such as the EU Digital COVID Certificate's
+ * "HC1:" strings (i.e. prefix + Base45(zlib(COSE))).
+ *
+ * Deflater output is Base45 encoded straight out of a small window, and Base45 input is
+ * decoded straight into the Inflater's input window; so neither direction materializes
+ * the full compressed payload, or the intermediate Base45 String.
+ *
+ * The Deflater & Inflater are reused across calls. Instances are not thread-safe, and
+ * should be closed to release the native zlib memory.
+ */
+public class Base45Zlib implements Closeable {
+    private static final int WINDOW_PAIRS = 1024;
+
+    private final String prefix;
+    private final Deflater deflater;
+    private final Inflater inflater;
+
+    //Compressed bytes, with room for an odd byte carried over from the previous deflate() call
+    private final byte[] compressed = new byte[WINDOW_PAIRS * 2];
+
+    //Base45 ASCII of one window
+    private final byte[] ascii = new byte[WINDOW_PAIRS * 3];
+    private final char[] chars = new char[WINDOW_PAIRS * 3];
+
+    //Inflated output of one step
+    private final byte[] inflated = new byte[WINDOW_PAIRS * 4];
+
+    /**
+     * No prefix, and the default compression level.
+     */
+    public Base45Zlib() {
+        this("", Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param prefix Prepended to encoded output, and required & stripped when decoding; e.g. "HC1:"
+     * @param level Deflater compression level; 0 - 9, or Deflater.DEFAULT_COMPRESSION
+     */
+    public Base45Zlib(final String prefix, final int level) {
+        this.prefix = prefix;
+        this.deflater = new Deflater(level);
+        this.inflater = new Inflater();
+    }
+
+    /**
+     * @return prefix + Base45(zlib(payload))
+     */
+    public String encode(final byte[] payload) throws IOException {
+        final StringBuilder out = new StringBuilder(prefix.length() + Base45.encodedLength(payload.length / 2 + 16));
+        encode(payload, 0, payload.length, out);
+        return out.toString();
+    }
+
+    /**
+     * Writes prefix + Base45(zlib(payload)) to out, a window at a time.
+     */
+    public void encode(final byte[] payload, final int off, final int len, final Appendable out) throws IOException {
+        Base45.checkRange(payload.length, off, len);
+        out.append(prefix);
+
+        deflater.reset();
+        deflater.setInput(payload, off, len);
+        deflater.finish();
+
+        int carry = 0;
+        long bytesRead = 0;
+        while (!deflater.finished()) {
+            final int n = carry + deflater.deflate(compressed, carry, compressed.length - carry);
+
+            //Encode the whole pairs, and carry the odd byte over; unless it's the very end
+            final int numBytes = deflater.finished() ? n : n & ~1;
+            final int numChars = Base45.encodeBlock(compressed, 0, numBytes, ascii, 0, Base45.toLocation(bytesRead));
+            bytesRead += numBytes;
+            append(numChars, out);
+
+            carry = n - numBytes;
+            if (carry > 0) {
+                compressed[0] = compressed[numBytes];
+            }
+        }
+    }
+
+    /**
+     * @return inflate(Base45(input minus prefix))
+     * @throws IllegalArgumentException If the prefix is missing, or the input is not valid Base45.
+     * @throws DataFormatException If the decoded data is not a valid zlib stream.
+     */
+    public byte[] decode(final CharSequence input) throws IllegalArgumentException, DataFormatException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(input.length());
+        try {
+            decode(input, out);
+        } catch (IOException e) {
+            //Not possible with a ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes inflate(Base45(input minus prefix)) to out, a window at a time.
+     *
+     * @throws IllegalArgumentException If the prefix is missing, or the input is not valid Base45.
+     * @throws DataFormatException If the decoded data is not a valid zlib stream.
+     */
+    public void decode(final CharSequence input, final OutputStream out) throws IOException, IllegalArgumentException, DataFormatException {
+        if (!startsWithPrefix(input)) {
+            throw new IllegalArgumentException("Decoding Failed! Input does not start with the expected prefix '" + prefix + "'.");
+        }
+
+        inflater.reset();
+        final int end = input.length();
+        int pos = prefix.length();
+        while (pos < end) {
+            //Whole triplets, and the trailing pair once at the end
+            final int numChars = Math.min(ascii.length, end - pos);
+            for (int x = 0; x < numChars; x++) {
+                final char c = input.charAt(pos + x);
+                if (c > 0xFF) {
+                    //Not a Base45 char; let the lookup report it.
+                    doReverseLookup(c, pos - prefix.length() + x);
+                }
+                ascii[x] = (byte) c;
+            }
+            final int numBytes = Base45.decodeBlock(ascii, 0, numChars, compressed, 0, pos - prefix.length());
+            pos += numChars;
+
+            if (inflater.finished()) {
+                throw new DataFormatException("Unexpected data after the end of the zlib stream.");
+            }
+            inflater.setInput(compressed, 0, numBytes);
+            int n;
+            while ((n = inflater.inflate(inflated)) > 0) {
+                out.write(inflated, 0, n);
+            }
+            if (inflater.needsDictionary()) {
+                throw new DataFormatException("Preset zlib dictionaries are not supported.");
+            }
+            if (inflater.finished() && inflater.getRemaining() > 0) {
+                throw new DataFormatException("Unexpected data after the end of the zlib stream.");
+            }
+        }
+
+        if (!inflater.finished()) {
+            throw new DataFormatException("Unexpected end of the zlib stream.");
+        }
+    }
+
+    /**
+     * Releases the Deflater & Inflater.
+     */
+    @Override
+    public void close() {
+        deflater.end();
+        inflater.end();
+    }
+
+    private boolean startsWithPrefix(final CharSequence input) {
+        if (input.length() < prefix.length()) {
+            return false;
+        }
+        for (int x = 0; x < prefix.length(); x++) {
+            if (input.charAt(x) != prefix.charAt(x)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void append(final int numChars, final Appendable out) throws IOException {
+        for (int x = 0; x < numChars; x++) {
+            chars[x] = (char) ascii[x];
+        }
+        out.append(CharBuffer.wrap(chars, 0, numChars));
+    }
+}
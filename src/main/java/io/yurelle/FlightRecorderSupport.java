@@ -0,0 +1,32 @@
+package io.yurelle;
+
+/**
+ * Hook for JDK Flight Recorder events.
+ *
+ * This is the Java 8 baseline version, which has no events. The multi-release JAR
+ * carries a replacement under META-INF/versions/17, which records them through jdk.jfr.
+ */
+final class FlightRecorderSupport {
+    private FlightRecorderSupport() {
+    }
+
+    /**
+     * @return Whether a recording may be running, in which events may be enabled.
+     */
+    static boolean isRecording() {
+        return false;
+    }
+
+    /**
+     * @return A begun event, if events are enabled; otherwise null.
+     */
+    static Object begin() {
+        return null;
+    }
+
+    static void commit(final Object event, final String operation, final int inputLength, final int outputLength, final long nanos) {
+    }
+
+    static void rejected(final Object event, final int reason, final int inputLength) {
+    }
+}
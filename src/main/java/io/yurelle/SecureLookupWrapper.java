@@ -44,6 +44,156 @@ public class SecureLookupWrapper {
         }
     }
 
+    //
+    //Per-codec tables; see Base45Codec. Same security checks as the static
+    //methods below, against this instance's alphabet.
+    //
+    private final char[] alphabet;
+    private final int[] reverseLookup;
+
+    /**
+     * @param alphabet 45 distinct ASCII chars; the char for each digit value, 0 - 44.
+     * @param caseInsensitive Whether the other case of each letter also decodes to that letter's digit.
+     * @throws IllegalArgumentException If the alphabet is invalid, or is ambiguous when case-insensitive.
+     */
+    SecureLookupWrapper(final char[] alphabet, final boolean caseInsensitive) throws IllegalArgumentException {
+        if (alphabet.length != ALPHANUM_STANDARD.length) {
+            throw new IllegalArgumentException("Invalid alphabet! Expected " + ALPHANUM_STANDARD.length + " chars, but found " + alphabet.length + ".");
+        }
+        this.alphabet = alphabet.clone();
+
+        //Default Value of -1
+        this.reverseLookup = new int[256];
+        Arrays.fill(reverseLookup, -1);
+
+        //Fill in Base45 entries
+        for (int x=0; x<this.alphabet.length; x++) {
+            final char c = this.alphabet[x];
+            if (c > 0x7F) {
+                throw new IllegalArgumentException("Invalid alphabet! Char '" + c + "' at index '" + x + "' is not ASCII.");
+            }
+            if (reverseLookup[c] >= 0) {
+                throw new IllegalArgumentException("Invalid alphabet! Char '" + c + "' at index '" + x + "' is a duplicate.");
+            }
+            reverseLookup[c] = x;
+        }
+
+        if (caseInsensitive) {
+            for (int x=0; x<this.alphabet.length; x++) {
+                final char c = this.alphabet[x];
+                final char other = Character.isUpperCase(c) ? Character.toLowerCase(c) : Character.toUpperCase(c);
+                if (other != c) {
+                    if (reverseLookup[other] >= 0) {
+                        throw new IllegalArgumentException("Invalid alphabet! Chars '" + c + "' & '" + other + "' are ambiguous when case-insensitive.");
+                    }
+                    reverseLookup[other] = x;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The alphabet of the standard; See: Section 4.2, "Table 1: The Base45 Alphabet".
+     */
+    static String standardAlphabet() {
+        return new String(ALPHANUM_STANDARD);
+    }
+
+    /**
+     * @return The alphabet of this instance.
+     */
+    String alphabet() {
+        return new String(alphabet);
+    }
+
+    /**
+     * Instance version of doLookup(); See: Section 6, Paragraph 1.
+     */
+    char lookup(final int lookupIndex, final int sourceByteLocation) throws IllegalArgumentException {
+        if (lookupIndex >= alphabet.length || lookupIndex < 0) {
+            throw new IllegalArgumentException("Encoding Failed at index '" + sourceByteLocation + "' - Invalid Encoding! Digit value '" + lookupIndex + "' outside the bounds of Base45 single-digit value space: 0 - 44.");
+        }
+        return alphabet[lookupIndex];
+    }
+
+    /**
+     * Instance version of doReverseLookup(); See: Section 6, Paragraph 4.
+     */
+    int reverseLookup(final int lookupIndex, final int sourceByteLocation) throws IllegalArgumentException {
+        if (lookupIndex >= reverseLookup.length || lookupIndex < 0) {
+            throw new IllegalArgumentException("Decoding Failed at index '" + sourceByteLocation + "' - Invalid Encoding! Digit value '" + lookupIndex + "' outside the bounds of single-byte value space: 0 - 255 (i.e. 0x00 - 0xFF).");
+        }
+
+        //Do Lookup
+        final int retVal = reverseLookup[lookupIndex];
+
+        //Ensure Positive & Base45 Capped
+        if (retVal < 0 || retVal > 44) {
+            throw new IllegalArgumentException("Decoding Failed at index '" + sourceByteLocation + "'! Unrecognized character '" + ((char) lookupIndex) + "'.");
+        } else {
+            return retVal;
+        }
+    }
+
+    /**
+     * Instance version of tryReverseLookup().
+     */
+    int tryLookupDigit(final int lookupIndex) {
+        return reverseLookup[lookupIndex & 0xFF] | -(lookupIndex >>> 8);
+    }
+
+    /**
+     * Lookup table for the table-driven encoder. It's only built on first use
+     * (holder class idiom), so callers who never use the fast path pay no
+     * startup cost for it.
+     *
+     * Every entry is built through doLookup(), so the security checks run once
+     * per table entry when the table is built, rather than once per digit.
+     */
+    private static class TripletTable {
+        //16-bit value -> its 3 ASCII chars, packed as: c | (d << 8) | (e << 16)
+        private final static int[] ENCODE_TRIPLETS;
+
+        static {
+            ENCODE_TRIPLETS = new int[0x10000];
+            for (int n=0; n<ENCODE_TRIPLETS.length; n++) {
+                final int c = doLookup(n % 45, n);
+                final int d = doLookup((n / 45) % 45, n);
+                final int e = doLookup(n / (45 * 45), n);
+                ENCODE_TRIPLETS[n] = c | (d << 8) | (e << 16);
+            }
+        }
+    }
+
+    /**
+     * Table-driven version of doLookup(), which maps an entire double-byte value
+     * to its 3 Base45 chars at once.
+     *
+     * @param value Unified double-byte value; 0 - 65,535 (i.e. 0x0000 - 0xFFFF).
+     * @return The 3 ASCII chars, packed as: c | (d &lt;&lt; 8) | (e &lt;&lt; 16)
+     * @throws IllegalArgumentException If the value is outside the double-byte value space.
+     */
+    public static int doTripletLookup(final int value, final int sourceByteLocation) throws IllegalArgumentException {
+        if (value > 0xFFFF || value < 0) {
+            throw new IllegalArgumentException("Encoding Failed at index '" + sourceByteLocation + "' - Invalid Encoding! Value '" + value + "' outside the bounds of double-byte value space: 0 - 65,535 (i.e. 0x0000 - 0xFFFF).");
+        }
+        return TripletTable.ENCODE_TRIPLETS[value];
+    }
+
+    /**
+     * Non-throwing version of doReverseLookup(), for branch free decoding loops.
+     *
+     * Any int is accepted. The caller must check the sign of the result (or of a
+     * value it has been OR'ed into), and fall back to doReverseLookup() to report
+     * the rejection.
+     *
+     * @return The decoded digit; or a negative value if it is not a Base45 char.
+     */
+    public static int tryReverseLookup(final int lookupIndex) {
+        //Anything outside of the single-byte value space sets the sign bit
+        return ALPHANUM_REVERSE_LOOKUP[lookupIndex & 0xFF] | -(lookupIndex >>> 8);
+    }
+
     /**
      * Security check outlined in the standard; See: Section 6, Paragraph 1.
      *
@@ -64,6 +214,20 @@ public class SecureLookupWrapper {
         return ALPHANUM_STANDARD[lookupIndex];
     }
 
+    /**
+     * Same security check as doLookup(), for encoders which output the digit value
+     * itself, rather than its char; e.g. QR alphanumeric mode, whose table matches
+     * the Base45 alphabet value for value.
+     *
+     * @return The digit, if & only if it is within the Base45 value space.
+     */
+    public static int doDigitCheck(final int digit, final int sourceByteLocation) {
+        if (digit >= ALPHANUM_STANDARD.length || digit < 0) {
+            throw new IllegalArgumentException("Encoding Failed at index '" + sourceByteLocation + "' - Invalid Encoding! Digit value '" + digit + "' outside the bounds of Base45 single-digit value space: 0 - 44.");
+        }
+        return digit;
+    }
+
     /**
      * Security check outlined in the standard; See: Section 6, Paragraph 4.
      *
@@ -0,0 +1,94 @@
+package io.yurelle;
+
+/**
+ * Times a single codec call, and reports it to the installed {@link Base45Metrics}
+ * listener and/or the Flight Recorder.
+ *
+ * {@link #begin()} returns null when there is nowhere to report to: no listener is
+ * installed, and no Flight Recorder recording is running. Both are tracked as they
+ * change (recordings through a recorder listener), into a single flag; so a disabled
+ * call site costs one volatile read, and one null check. While a recording runs, each
+ * call also asks whether either event type is enabled in it.
+ */
+final class Telemetry {
+    static volatile Base45Metrics metrics;
+
+    //Whether there may be anywhere to report to; the only field a disabled call site reads
+    private static volatile boolean active;
+
+    static {
+        refresh();
+    }
+
+    private final Base45Metrics listener;
+    private final Object event;
+    private final long start;
+
+    private Telemetry(final Base45Metrics listener, final Object event) {
+        this.listener = listener;
+        this.event = event;
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * @return A started probe; or null if neither a listener nor a Flight Recorder event is enabled.
+     */
+    static Telemetry begin() {
+        if (!active) {
+            return null;
+        }
+        final Base45Metrics listener = metrics;
+        final Object event = FlightRecorderSupport.begin();
+        if (listener == null && event == null) {
+            return null;
+        }
+        return new Telemetry(listener, event);
+    }
+
+    static synchronized void setMetrics(final Base45Metrics listener) {
+        metrics = listener;
+        refresh();
+    }
+
+    /**
+     * Recomputes the flag; on every listener change, and every recording state change.
+     * Synchronized, so the last one to write it has seen the latest state.
+     */
+    static synchronized void refresh() {
+        active = metrics != null || FlightRecorderSupport.isRecording();
+    }
+
+    void encoded(final int numBytes, final int numChars) {
+        final long nanos = System.nanoTime() - start;
+        if (listener != null) {
+            listener.encoded(numBytes, numChars, nanos);
+        }
+        FlightRecorderSupport.commit(event, "encode", numBytes, numChars, nanos);
+    }
+
+    void decoded(final int numChars, final int numBytes) {
+        final long nanos = System.nanoTime() - start;
+        if (listener != null) {
+            listener.decoded(numChars, numBytes, nanos);
+        }
+        FlightRecorderSupport.commit(event, "decode", numChars, numBytes, nanos);
+    }
+
+    void rejected(final int reason, final int numChars) {
+        if (listener != null) {
+            listener.rejected(reason, numChars);
+        }
+        FlightRecorderSupport.rejected(event, reason, numChars);
+    }
+
+    /**
+     * Reports a tryDecode() or validate() result.
+     */
+    void decoded(final long result, final int numChars) {
+        if (result < 0) {
+            rejected(Base45.errorReason(result), numChars);
+        } else {
+            decoded(numChars, (int) result);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.yurelle;
+
+import static io.yurelle.SecureLookupWrapper.tryReverseLookup;
+
+/**
+ * Hook for the SIMD (Vector API) engine.
+ *
+ * This is the Java 8 baseline version, which is always scalar. The multi-release
+ * JAR carries a replacement under META-INF/versions/17, which switches to
+ * jdk.incubator.vector when that module has been enabled on the JVM
+ * (i.e. --add-modules jdk.incubator.vector). Both versions must return
+ * identical results.
+ */
+final class VectorSupport {
+    private VectorSupport() {
+    }
+
+    /**
+     * @return Whether the SIMD engine is in use.
+     */
+    static boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * Alphabet classification.
+     *
+     * @return Index of the first byte in src[off, off + len) which is not a Base45 char; or -1 if they all are.
+     */
+    static int findInvalidChar(final byte[] src, final int off, final int len) {
+        final int end = off + len;
+        for (int x = off; x < end; x++) {
+            if (tryReverseLookup(src[x] & 0xFF) < 0) {
+                return x;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes a leading run of whole triplets, in blocks; stopping before the first block
+     * which holds an invalid char or an overflowing triplet, so the caller can decode the
+     * rest and report any failure exactly.
+     *
+     * @return Number of chars decoded; a multiple of 3. Always 0 here.
+     */
+    static int decodeTriplets(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
+        return 0;
+    }
+}
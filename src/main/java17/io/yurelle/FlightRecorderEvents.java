@@ -0,0 +1,124 @@
+package io.yurelle;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder events; enable them in a recording's settings, by name.
+ *
+ * To keep recordings small, "io.yurelle.Base45Call" events are only committed for
+ * large or slow calls; i.e. input of at least io.yurelle.base45.jfr.minSize
+ * (default 65,536), or at least io.yurelle.base45.jfr.minMillis (default 1)
+ * long. Both are system properties. "io.yurelle.Base45Rejected" events are
+ * committed for every rejected input.
+ */
+final class FlightRecorderEvents {
+    private static final long MIN_SIZE = Long.getLong("io.yurelle.base45.jfr.minSize", 65_536);
+    private static final long MIN_NANOS = Long.getLong("io.yurelle.base45.jfr.minMillis", 1) * 1_000_000;
+
+    //Only used to check whether either event type is enabled; that state is per event type, not per instance
+    private static final CallEvent CALL_PROTOTYPE = new CallEvent();
+    private static final RejectedEvent REJECTED_PROTOTYPE = new RejectedEvent();
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Has Telemetry re-check whether a recording is running, whenever one starts or stops.
+     *
+     * @return False if the listener could not be added.
+     */
+    static boolean watch() {
+        try {
+            FlightRecorder.addListener(new FlightRecorderListener() {
+                @Override
+                public void recordingStateChanged(final Recording recording) {
+                    Telemetry.refresh();
+                }
+            });
+            return true;
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
+
+    static boolean isRecording() {
+        //Don't initialize the recorder just to find out that nothing is recording
+        if (!FlightRecorder.isInitialized()) {
+            return false;
+        }
+        for (final Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (recording.getState() == RecordingState.RUNNING) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Object begin() {
+        if (CALL_PROTOTYPE.isEnabled()) {
+            final CallEvent event = new CallEvent();
+            event.begin();
+            return event;
+        }
+        return REJECTED_PROTOTYPE.isEnabled() ? REJECTED_PROTOTYPE : null;
+    }
+
+    static void commit(final Object event, final String operation, final int inputLength, final int outputLength, final long nanos) {
+        if (event instanceof CallEvent && (inputLength >= MIN_SIZE || nanos >= MIN_NANOS)) {
+            final CallEvent callEvent = (CallEvent) event;
+            callEvent.end();
+            if (callEvent.shouldCommit()) {
+                callEvent.operation = operation;
+                callEvent.inputLength = inputLength;
+                callEvent.outputLength = outputLength;
+                callEvent.commit();
+            }
+        }
+    }
+
+    static void rejected(final int reason, final int inputLength) {
+        final RejectedEvent event = new RejectedEvent();
+        if (event.shouldCommit()) {
+            event.reason = reason == Base45.ERROR_INVALID_CHAR ? "invalid char" : reason == Base45.ERROR_OVERFLOW ? "overflow" : "truncated";
+            event.inputLength = inputLength;
+            event.commit();
+        }
+    }
+
+    @Name("io.yurelle.Base45Call")
+    @Label("Base45 Call")
+    @Description("Large or slow Base45 encode/decode call")
+    @Category({"Base45"})
+    @StackTrace(false)
+    static final class CallEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Input Length")
+        int inputLength;
+
+        @Label("Output Length")
+        int outputLength;
+    }
+
+    @Name("io.yurelle.Base45Rejected")
+    @Label("Base45 Rejected Input")
+    @Description("Input rejected by the Base45 security checks")
+    @Category({"Base45"})
+    static final class RejectedEvent extends Event {
+        @Label("Reason")
+        String reason;
+
+        @Label("Input Length")
+        int inputLength;
+    }
+}
@@ -0,0 +1,46 @@
+package io.yurelle;
+
+/**
+ * Hook for JDK Flight Recorder events.
+ *
+ * This is the Java 17+ version, from META-INF/versions/17 of the multi-release JAR.
+ * If the runtime has no jdk.jfr module (e.g. a jlink image without it), this does
+ * nothing, like the Java 8 version.
+ *
+ * FlightRecorderEvents is only loaded once the module is known to be present.
+ */
+final class FlightRecorderSupport {
+    private static final boolean PRESENT = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    //Whether recording state changes are reported to Telemetry; if not (e.g. denied by a security manager), always assume a recording
+    private static final boolean WATCHED = PRESENT && FlightRecorderEvents.watch();
+
+    private FlightRecorderSupport() {
+    }
+
+    /**
+     * @return Whether a recording may be running, in which events may be enabled.
+     */
+    static boolean isRecording() {
+        return PRESENT && (!WATCHED || FlightRecorderEvents.isRecording());
+    }
+
+    /**
+     * @return A begun event, if events are enabled; otherwise null.
+     */
+    static Object begin() {
+        return PRESENT ? FlightRecorderEvents.begin() : null;
+    }
+
+    static void commit(final Object event, final String operation, final int inputLength, final int outputLength, final long nanos) {
+        if (event != null) {
+            FlightRecorderEvents.commit(event, operation, inputLength, outputLength, nanos);
+        }
+    }
+
+    static void rejected(final Object event, final int reason, final int inputLength) {
+        if (event != null) {
+            FlightRecorderEvents.rejected(reason, inputLength);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package io.yurelle;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import static io.yurelle.SecureLookupWrapper.tryReverseLookup;
+
+/**
+ * Vector API kernels. Only referenced through VectorSupport, once the
+ * jdk.incubator.vector module is known to be present.
+ *
+ * For validation, the Base45 alphabet is classified with range compares, rather
+ * than through the lookup table, so whole vectors of chars can be checked at once:
+ *
+ *   ' ' (0x20), '$' '%' (0x24 - 0x25), '*' '+' (0x2A - 0x2B),
+ *   '-' '.' '/' '0' - '9' ':' (0x2D - 0x3A), 'A' - 'Z' (0x41 - 0x5A)
+ *
+ * Bytes above 0x7F are negative as Java bytes, so they fall outside every range.
+ * Any remainder shorter than a vector is checked through SecureLookupWrapper.
+ *
+ * Decoding needs each char's digit as well, so it looks them up in a vector copy
+ * of the same table (see decodeTriplets()). Encoding is always scalar.
+ *
+ * Only API which is unchanged across the incubator releases since Java 17 is used;
+ * e.g. no byte[] reinterpreting loads & stores, which later releases removed.
+ */
+final class VectorKernels {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    //Decoding classifies & de-interleaves the chars as bytes, then combines each triplet's
+    //digits in a 16-bit lane; so a block is 3 byte vectors of chars, which hold BYTE_LANES
+    //triplets, and decode into 2 short vectors of BYTE_LANES / 2 triplets each.
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = VectorSpecies.of(byte.class, SHORTS.vectorShape());
+    private static final int BYTE_LANES = BYTES.length();
+
+    //Every Base45 char is in 0x20 - 0x5F; so each char is classified with a single lookup, of
+    //its digit at (char - 0x20) in a 64 entry table. 32 byte vectors look it up in 2 parts;
+    //with fewer lanes that takes too many parts, so decoding stays scalar.
+    private static final int TABLE_PARTS = Math.max(1, 64 / BYTE_LANES);
+    private static final boolean DECODE_SUPPORTED = TABLE_PARTS <= 2;
+    private static final byte LANE_BITS = (byte) (BYTE_LANES - 1);
+    private static final ByteVector TABLE_0 = newTablePart(0);
+    private static final ByteVector TABLE_1 = newTablePart(1);
+
+    //Gathers the c, d & e digits (k = 0, 1, 2) of a block, out of its 3 vectors of digits;
+    //lane i takes digit 3i + k, from whichever vector holds it. Only single vector rearranges,
+    //with constant shuffles & masks, are compiled to SIMD instructions by every release since
+    //Java 17; so each digit is 3 rearranges & 2 blends, rather than a two vector rearrange.
+    private static final VectorShuffle<Byte> C_FROM_0 = newShuffle(0, 0);
+    private static final VectorShuffle<Byte> C_FROM_1 = newShuffle(0, 1);
+    private static final VectorShuffle<Byte> C_FROM_2 = newShuffle(0, 2);
+    private static final VectorMask<Byte> C_IN_1 = newMask(0, 1);
+    private static final VectorMask<Byte> C_IN_2 = newMask(0, 2);
+    private static final VectorShuffle<Byte> D_FROM_0 = newShuffle(1, 0);
+    private static final VectorShuffle<Byte> D_FROM_1 = newShuffle(1, 1);
+    private static final VectorShuffle<Byte> D_FROM_2 = newShuffle(1, 2);
+    private static final VectorMask<Byte> D_IN_1 = newMask(1, 1);
+    private static final VectorMask<Byte> D_IN_2 = newMask(1, 2);
+    private static final VectorShuffle<Byte> E_FROM_0 = newShuffle(2, 0);
+    private static final VectorShuffle<Byte> E_FROM_1 = newShuffle(2, 1);
+    private static final VectorShuffle<Byte> E_FROM_2 = newShuffle(2, 2);
+    private static final VectorMask<Byte> E_IN_1 = newMask(2, 1);
+    private static final VectorMask<Byte> E_IN_2 = newMask(2, 2);
+
+    //Lane order of reinterpretAsBytes(); so each triplet's 2 bytes are stored high byte first.
+    private static final boolean SWAP_BYTES = ShortVector.zero(SHORTS).withLane(0, (short) 0x0102).reinterpretAsBytes().lane(0) == 0x02;
+
+    private VectorKernels() {
+    }
+
+    /**
+     * Decodes whole blocks of BYTE_LANES triplets; stopping before the first block which holds
+     * an invalid char, or an overflowing triplet. The caller decodes the rest, and so
+     * reports any failure exactly as the scalar decoder would.
+     *
+     * @return Number of chars decoded; a multiple of 3.
+     */
+    static int decodeTriplets(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
+        if (!DECODE_SUPPORTED) {
+            return 0;
+        }
+
+        final int blockChars = BYTE_LANES * 3;
+        final int blockEnd = off + (len / blockChars) * blockChars;
+
+        int s = off;
+        int o = dstOff;
+        //Written out in full, rather than through helper methods; the vector operations are only compiled
+        //to SIMD instructions once inlined, and a loop this size runs into the JIT's inlining budget.
+        for (; s < blockEnd; s += blockChars, o += BYTE_LANES * 2) {
+            //Char - 0x20; anything outside of 0x20 - 0x5F (bytes over 0x7F included) has bit 6 or 7 set
+            final ByteVector i0 = ByteVector.fromArray(BYTES, src, s).sub((byte) 0x20);
+            final ByteVector i1 = ByteVector.fromArray(BYTES, src, s + BYTE_LANES).sub((byte) 0x20);
+            final ByteVector i2 = ByteVector.fromArray(BYTES, src, s + 2 * BYTE_LANES).sub((byte) 0x20);
+
+            //Digits; -1 for the rest of 0x20 - 0x5F
+            ByteVector v0 = i0.and(LANE_BITS).selectFrom(TABLE_0);
+            ByteVector v1 = i1.and(LANE_BITS).selectFrom(TABLE_0);
+            ByteVector v2 = i2.and(LANE_BITS).selectFrom(TABLE_0);
+            if (TABLE_PARTS == 2) {
+                v0 = v0.blend(i0.and(LANE_BITS).selectFrom(TABLE_1), i0.compare(VectorOperators.GE, (byte) 32));
+                v1 = v1.blend(i1.and(LANE_BITS).selectFrom(TABLE_1), i1.compare(VectorOperators.GE, (byte) 32));
+                v2 = v2.blend(i2.and(LANE_BITS).selectFrom(TABLE_1), i2.compare(VectorOperators.GE, (byte) 32));
+            }
+
+            //Invalid chars; either bit 6 or 7 is set
+            if (i0.or(i1).or(i2).or(v0).or(v1).or(v2).compare(VectorOperators.UNSIGNED_GT, (byte) 0x3F).anyTrue()) {
+                break;
+            }
+
+            final ByteVector c = v0.rearrange(C_FROM_0).blend(v1.rearrange(C_FROM_1), C_IN_1).blend(v2.rearrange(C_FROM_2), C_IN_2);
+            final ByteVector d = v0.rearrange(D_FROM_0).blend(v1.rearrange(D_FROM_1), D_IN_1).blend(v2.rearrange(D_FROM_2), D_IN_2);
+            final ByteVector e = v0.rearrange(E_FROM_0).blend(v1.rearrange(E_FROM_1), E_IN_1).blend(v2.rearrange(E_FROM_2), E_IN_2);
+
+            //Combine Bytes; mod 2^16, in 2 halves
+            final ShortVector e0 = (ShortVector) e.convertShape(VectorOperators.B2S, SHORTS, 0);
+            final ShortVector e1 = (ShortVector) e.convertShape(VectorOperators.B2S, SHORTS, 1);
+            ShortVector value0 = ((ShortVector) c.convertShape(VectorOperators.B2S, SHORTS, 0))
+                    .add(((ShortVector) d.convertShape(VectorOperators.B2S, SHORTS, 0)).mul((short) 45))
+                    .add(e0.mul((short) 2025));
+            ShortVector value1 = ((ShortVector) c.convertShape(VectorOperators.B2S, SHORTS, 1))
+                    .add(((ShortVector) d.convertShape(VectorOperators.B2S, SHORTS, 1)).mul((short) 45))
+                    .add(e1.mul((short) 2025));
+
+            //Security check outlined in the standard; See: Section 6, Paragraph 5.
+            //Below e = 32 the value is at most 2,024 + (31 * 2,025) = 64,799; and from e = 32 up, it
+            //is at least 64,800. So it exceeds 0xFFFF iff e >= 32, but it wrapped to under 64,800.
+            final VectorMask<Short> overflow0 = e0.compare(VectorOperators.GE, (short) 32).and(value0.compare(VectorOperators.UNSIGNED_LT, (short) 64800));
+            final VectorMask<Short> overflow1 = e1.compare(VectorOperators.GE, (short) 32).and(value1.compare(VectorOperators.UNSIGNED_LT, (short) 64800));
+            if (overflow0.or(overflow1).anyTrue()) {
+                break;
+            }
+
+            //High byte first
+            if (SWAP_BYTES) {
+                value0 = value0.lanewise(VectorOperators.LSHL, 8).or(value0.lanewise(VectorOperators.LSHR, 8));
+                value1 = value1.lanewise(VectorOperators.LSHL, 8).or(value1.lanewise(VectorOperators.LSHR, 8));
+            }
+            value0.reinterpretAsBytes().intoArray(dst, o);
+            value1.reinterpretAsBytes().intoArray(dst, o + BYTE_LANES);
+        }
+        return s - off;
+    }
+
+    //Digits of chars 0x20 + (part * BYTE_LANES) onwards; -1 for anything which is not a Base45 char
+    private static ByteVector newTablePart(final int part) {
+        final byte[] digits = new byte[BYTE_LANES];
+        for (int i = 0; i < BYTE_LANES; i++) {
+            final int index = part * BYTE_LANES + i;
+            digits[i] = (byte) (index < 64 ? tryReverseLookup(0x20 + index) : -1);
+        }
+        return ByteVector.fromArray(BYTES, digits, 0);
+    }
+
+    //Lane i of the shuffle points at digit 3i + k, if vector v holds it; otherwise at lane 0 (masked out)
+    private static VectorShuffle<Byte> newShuffle(final int k, final int v) {
+        final int[] indexes = new int[BYTE_LANES];
+        for (int i = 0; i < BYTE_LANES; i++) {
+            final int j = 3 * i + k;
+            indexes[i] = j / BYTE_LANES == v ? j % BYTE_LANES : 0;
+        }
+        return VectorShuffle.fromArray(BYTES, indexes, 0);
+    }
+
+    //Lanes whose digit 3i + k is held by vector v
+    private static VectorMask<Byte> newMask(final int k, final int v) {
+        final boolean[] bits = new boolean[BYTE_LANES];
+        for (int i = 0; i < BYTE_LANES; i++) {
+            bits[i] = (3 * i + k) / BYTE_LANES == v;
+        }
+        return VectorMask.fromArray(BYTES, bits, 0);
+    }
+
+    static int findInvalidChar(final byte[] src, final int off, final int len) {
+        final int vectorEnd = off + SPECIES.loopBound(len);
+        int x = off;
+        for (; x < vectorEnd; x += SPECIES.length()) {
+            final ByteVector v = ByteVector.fromArray(SPECIES, src, x);
+            final VectorMask<Byte> valid = inRange(v, 0x2D, 0x3A)
+                    .or(inRange(v, 0x41, 0x5A))
+                    .or(inRange(v, 0x24, 0x25))
+                    .or(inRange(v, 0x2A, 0x2B))
+                    .or(v.compare(VectorOperators.EQ, (byte) 0x20));
+
+            if (!valid.allTrue()) {
+                return x + valid.not().firstTrue();
+            }
+        }
+
+        //Tail
+        final int end = off + len;
+        for (; x < end; x++) {
+            if (tryReverseLookup(src[x] & 0xFF) < 0) {
+                return x;
+            }
+        }
+        return -1;
+    }
+
+    private static VectorMask<Byte> inRange(final ByteVector v, final int low, final int high) {
+        return v.compare(VectorOperators.GE, (byte) low).and(v.compare(VectorOperators.LE, (byte) high));
+    }
+
+}
@@ -0,0 +1,60 @@
+package io.yurelle;
+
+import static io.yurelle.SecureLookupWrapper.tryReverseLookup;
+
+/**
+ * Hook for the SIMD (Vector API) engine.
+ *
+ * This is the Java 17+ version, from META-INF/versions/17 of the multi-release JAR.
+ * The Vector API is still an incubating module, which the JVM only resolves when
+ * asked to (i.e. --add-modules jdk.incubator.vector). If it has not been enabled,
+ * or the system property "io.yurelle.base45.vector" is set to false, this falls
+ * back to the same scalar code as the Java 8 version.
+ *
+ * VectorKernels is only loaded once the module is known to be present.
+ */
+final class VectorSupport {
+    private static final boolean ENABLED =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() &&
+            !"false".equalsIgnoreCase(System.getProperty("io.yurelle.base45.vector"));
+
+    private VectorSupport() {
+    }
+
+    /**
+     * @return Whether the SIMD engine is in use.
+     */
+    static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Alphabet classification.
+     *
+     * @return Index of the first byte in src[off, off + len) which is not a Base45 char; or -1 if they all are.
+     */
+    static int findInvalidChar(final byte[] src, final int off, final int len) {
+        if (ENABLED) {
+            return VectorKernels.findInvalidChar(src, off, len);
+        }
+
+        final int end = off + len;
+        for (int x = off; x < end; x++) {
+            if (tryReverseLookup(src[x] & 0xFF) < 0) {
+                return x;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes a leading run of whole triplets, in blocks; stopping before the first block
+     * which holds an invalid char or an overflowing triplet, so the caller can decode the
+     * rest and report any failure exactly.
+     *
+     * @return Number of chars decoded; a multiple of 3. 0 if the SIMD engine is not in use.
+     */
+    static int decodeTriplets(final byte[] src, final int off, final int len, final byte[] dst, final int dstOff) {
+        return ENABLED ? VectorKernels.decodeTriplets(src, off, len, dst, dstOff) : 0;
+    }
+}
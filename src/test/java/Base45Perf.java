@@ -0,0 +1,222 @@
+import io.yurelle.Base45;
+import io.yurelle.Base45Codec;
+import io.yurelle.Base45Decoder;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Performance tier; not part of the default test run. Run it with: mvn test -Pperf
+ *
+ * Allocation budgets are measured with com.sun.management.ThreadMXBean, after warming
+ * each path up, so they hold regardless of the machine. The buffer based paths must
+ * not allocate at all; the String based ones only their result.
+ *
+ * Throughput floors are relative, so that they can be checked in: each path's rate is
+ * divided by that of a fixed scalar loop over the same input, in interleaved rounds on
+ * the same JVM, and the median ratio must be at least perf.tolerance (default 0.6) of
+ * the one recorded in perf-baseline.properties. Pass -Dperf.print=true to print the current ratios, for
+ * updating the baseline after an intentional change.
+ */
+public class Base45Perf {
+    //L2 resident, so the ratios measure the loops rather than memory bandwidth
+    private static final int SIZE = 64 * 1024;
+
+    //Per-measurement slack, for the allocation of the measurement itself
+    private static final long ALLOCATION_SLACK = 1024;
+
+    //Throughput rounds; see relativeThroughput()
+    private static final long WARMUP_NANOS = 1_000_000_000;
+    private static final long ROUND_NANOS = 40_000_000;
+    private static final int ROUNDS = 15;
+
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("perf.tolerance", "0.6"));
+
+    private static byte[] payload;
+    private static byte[] ascii;
+    private static String encodedStr;
+    private static Properties baseline;
+
+    @BeforeClass
+    public static void setup() throws IOException {
+        payload = new byte[SIZE];
+        new Random(1234).nextBytes(payload);
+        encodedStr = Base45.encode(payload);
+        ascii = Base45.encodeToAscii(payload);
+
+        baseline = new Properties();
+        try (InputStream in = Base45Perf.class.getResourceAsStream("/perf-baseline.properties")) {
+            assertNotNull("Missing perf-baseline.properties", in);
+            baseline.load(in);
+        }
+    }
+
+    @Test
+    public void allocationBudgetTest() throws IOException {
+        final byte[] asciiOut = new byte[ascii.length];
+        final byte[] bytesOut = new byte[SIZE];
+        final ByteBuffer directIn = ByteBuffer.allocateDirect(SIZE);
+        directIn.put(payload).flip();
+        final ByteBuffer directOut = ByteBuffer.allocateDirect(ascii.length);
+        final Base45Decoder decoder = new Base45Decoder();
+
+        //Buffer based paths: nothing at all
+        assertAllocation("encode(byte[]...)", 0, () -> Base45.encode(payload, 0, SIZE, asciiOut, 0));
+        assertAllocation("decode(byte[]...)", 0, () -> Base45.decode(ascii, 0, ascii.length, bytesOut, 0));
+        assertAllocation("encodeFast", 0, () -> Base45.encodeFast(payload, 0, SIZE, asciiOut, 0));
+        assertAllocation("decodeFast", 0, () -> Base45.decodeFast(ascii, 0, ascii.length, bytesOut, 0));
+        assertAllocation("tryDecode(CharSequence...)", 0, () -> Base45.tryDecode(encodedStr, 0, encodedStr.length(), bytesOut, 0));
+        assertAllocation("validate(byte[]...)", 0, () -> Base45.validate(ascii, 0, ascii.length));
+        assertAllocation("encode(ByteBuffer) direct", 0, () -> {
+            directIn.rewind();
+            directOut.clear();
+            Base45.encode(directIn, directOut);
+        });
+        assertAllocation("Base45Decoder.update", 0, () -> {
+            decoder.update(ascii, 0, ascii.length, bytesOut, 0);
+            decoder.finish(bytesOut, 0);
+        });
+
+        //String based paths: only the result (String: header + array header + chars)
+        // - unless the codec has no scratch buffer, when the ASCII bytes are built first & then copied
+        //   (as they also are for outputs over MAX_SCRATCH_SIZE, which a THREAD_LOCAL codec doesn't keep)
+        final Base45Codec unpooled = Base45Codec.DEFAULT.toBuilder().scratchBuffers(Base45Codec.ScratchBuffers.NONE).build();
+        final Base45Codec pooled = Base45Codec.DEFAULT.toBuilder().scratchBuffers(Base45Codec.ScratchBuffers.THREAD_LOCAL).build();
+        final byte[] small = Arrays.copyOf(payload, Base45Codec.MAX_SCRATCH_SIZE / 3 * 2);
+        final int smallChars = Base45.encodedLength(small.length);
+        final long unpooledBytes = assertAllocation("encode(byte[]) NONE", 2 * smallChars + 64, () -> unpooled.encode(small));
+        final long pooledBytes = assertAllocation("encode(byte[]) THREAD_LOCAL", smallChars + 64, () -> pooled.encode(small));
+        assertTrue("THREAD_LOCAL allocated " + pooledBytes + " bytes/call; NONE " + unpooledBytes, pooledBytes + smallChars / 2 < unpooledBytes);
+        assertAllocation("encode(byte[]) THREAD_LOCAL, over MAX_SCRATCH_SIZE", 2 * ascii.length + 64, () -> pooled.encode(payload));
+        assertAllocation("decode(String)", SIZE + 32, () -> Base45.decode(encodedStr));
+        assertAllocation("encodeToAscii", ascii.length + 32, () -> Base45.encodeToAscii(payload));
+    }
+
+    @Test
+    public void throughputFloorTest() {
+        final byte[] asciiOut = new byte[ascii.length];
+        final byte[] bytesOut = new byte[SIZE];
+
+        assertThroughput("encode", () -> Base45.encode(payload, 0, SIZE, asciiOut, 0));
+        assertThroughput("decode", () -> Base45.decode(ascii, 0, ascii.length, bytesOut, 0));
+        assertThroughput("encodeFast", () -> Base45.encodeFast(payload, 0, SIZE, asciiOut, 0));
+        assertThroughput("decodeFast", () -> Base45.decodeFast(ascii, 0, ascii.length, bytesOut, 0));
+        assertThroughput("validate", () -> Base45.validate(ascii, 0, ascii.length));
+        assertThroughput("decodeString", () -> Base45.decode(encodedStr, 0, encodedStr.length()));
+    }
+
+    private interface Op {
+        void run() throws Exception;
+    }
+
+    /**
+     * @return Bytes allocated per call.
+     */
+    private static long assertAllocation(final String name, final long budgetPerCall, final Op op) {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("Allocation measurement is not supported on this JVM", bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue("Allocation measurement is not supported on this JVM", threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        //Warm up, so the measured calls run compiled code
+        final int calls = 200;
+        for (int x = 0; x < 20 * calls; x++) {
+            call(op);
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        for (int x = 0; x < calls; x++) {
+            call(op);
+        }
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        System.out.println(name + ": " + (allocated / calls) + " bytes/call");
+        assertTrue(name + " allocated " + allocated + " bytes over " + calls + " calls; budget is " + budgetPerCall + " bytes/call",
+                allocated <= budgetPerCall * calls + ALLOCATION_SLACK);
+        return allocated / calls;
+    }
+
+    private static void assertThroughput(final String name, final Op op) {
+        final String expected = baseline.getProperty(name);
+        assertNotNull("No baseline for " + name, expected);
+
+        final double ratio = relativeThroughput(op);
+        final double floor = Double.parseDouble(expected) * TOLERANCE;
+        if (Boolean.getBoolean("perf.print")) {
+            System.out.println(String.format("%s=%.3f", name, ratio));
+        }
+        assertTrue(String.format("%s: relative throughput %.3f is below the floor of %.3f (baseline %s)", name, ratio, floor, expected), ratio >= floor);
+    }
+
+    /**
+     * Throughput of op relative to the reference loop, over the same input.
+     *
+     * Rounds of the two alternate, so a change in machine load hits both sides of a
+     * round's ratio alike; and the median of the rounds' ratios is taken, so a few
+     * disturbed rounds don't move it.
+     */
+    private static double relativeThroughput(final Op op) {
+        final Op reference = Base45Perf::calibrate;
+        runFor(reference, WARMUP_NANOS);
+        runFor(op, WARMUP_NANOS);
+
+        final double[] ratios = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            final double referenceRate = rate(reference);
+            ratios[round] = rate(op) / referenceRate;
+        }
+        Arrays.sort(ratios);
+        return ratios[ROUNDS / 2];
+    }
+
+    /**
+     * @return Calls per second, over one round.
+     */
+    private static double rate(final Op op) {
+        final long start = System.nanoTime();
+        final long calls = runFor(op, ROUND_NANOS);
+        return calls / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static long runFor(final Op op, final long nanos) {
+        final long end = System.nanoTime() + nanos;
+        long calls = 0;
+        do {
+            for (int x = 0; x < 16; x++) {
+                call(op);
+            }
+            calls += 16;
+        } while (System.nanoTime() < end);
+        return calls;
+    }
+
+    private static void call(final Op op) {
+        try {
+            op.run();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    //Reference loop: a serial dependency chain over the input, which the JIT can't vectorize away
+    private static int sink;
+    private static void calibrate() {
+        int h = 0;
+        for (final byte b : payload) {
+            h = 31 * h + (b & 0xFF);
+        }
+        sink = h;
+    }
+}
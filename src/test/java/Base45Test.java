@@ -1,14 +1,53 @@
 import io.yurelle.Base45;
+import io.yurelle.Base45Batch;
+import io.yurelle.Base45Bulk;
+import io.yurelle.Base45Checksums;
+import io.yurelle.Base45Charset;
+import io.yurelle.Base45Codec;
+import io.yurelle.Base45DecodeCache;
+import io.yurelle.Base45Decoder;
+import io.yurelle.Base45Files;
+import io.yurelle.Base45Metrics;
+import io.yurelle.Base45MultiPart;
+import io.yurelle.Base45InputStream;
+import io.yurelle.Base45OutputStream;
+import io.yurelle.Base45Parallel;
+import io.yurelle.Base45Qr;
+import io.yurelle.Base45Transcoder;
+import io.yurelle.Base45Zlib;
 import io.yurelle.SecureLookupWrapper;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
 
 import static org.junit.Assert.*;
 
@@ -387,6 +426,1207 @@ public class Base45Test {
         assertTrue("Binary encoding efficiency dropped below acceptable threshold!", (Math.abs(efficiencyPercentage) < 10) );
     }
 
+    @Test
+    public void bufferCodecTest() throws IOException {
+        System.out.println("Buffer Codec\n------------");
+
+        //Exact Lengths
+        assertEquals(0, Base45.encodedLength(0));
+        assertEquals(2, Base45.encodedLength(1));
+        assertEquals(3, Base45.encodedLength(2));
+        assertEquals(5, Base45.encodedLength(3));
+        assertEquals(0, Base45.decodedLength(0));
+        assertEquals(1, Base45.decodedLength(2));
+        assertEquals(2, Base45.decodedLength(3));
+        assertEquals(3, Base45.decodedLength(5));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decodedLength(4));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45.encodedLength(-1));
+
+        //Reused buffers, with offsets
+        final int pad = 7;
+        final byte[] src = new byte[pad + 1_000];
+        final byte[] encodeBuf = new byte[pad + Base45.encodedLength(1_000)];
+        final byte[] decodeBuf = new byte[pad + 1_000];
+        for (int x=0; x<=1_000; x++) {
+            final byte[] inputArray = getTestBytes(x);
+            System.arraycopy(inputArray, 0, src, pad, x);
+
+            //Encode
+            final int numChars = Base45.encode(src, pad, x, encodeBuf, pad);
+            assertEquals(Base45.encodedLength(x), numChars);
+            assertEquals(Base45.encode(inputArray), new String(encodeBuf, pad, numChars, StandardCharsets.US_ASCII));
+
+            //Decode
+            final int numBytes = Base45.decode(encodeBuf, pad, numChars, decodeBuf, pad);
+            assertEquals(x, numBytes);
+            for (int y=0; y<x; y++) {
+                assertEquals(inputArray[y], decodeBuf[pad + y]);
+            }
+        }
+
+        //Undersized Destination
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> Base45.encode(new byte[4], 0, 4, new byte[5], 0));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> Base45.decode("BB8".getBytes(StandardCharsets.US_ASCII), 0, 3, new byte[1], 0));
+
+        //Security Checks still apply
+        final byte[] overflow = "GGW".getBytes(StandardCharsets.US_ASCII);
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(overflow, 0, 3, new byte[2], 0));
+        final byte[] truncated = "BB8B".getBytes(StandardCharsets.US_ASCII);
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(truncated, 0, 4, new byte[3], 0));
+        final byte[] invalid = "BB8b8".getBytes(StandardCharsets.US_ASCII);
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(invalid, 0, 5, new byte[3], 0));
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void streamingCodecTest() throws IOException {
+        System.out.println("Streaming Codec\n------------");
+
+        final Random chunkRand = new Random(42);
+        for (int x=0; x<=3_000; x+=37) {
+            final byte[] inputArray = getTestBytes(x);
+            final String expectedStr = Base45.encode(inputArray);
+
+            //Encode - Random write() sizes, including single bytes
+            final ByteArrayOutputStream asciiOut = new ByteArrayOutputStream();
+            try (Base45OutputStream out = new Base45OutputStream(asciiOut)) {
+                int pos = 0;
+                while (pos < x) {
+                    final int n = Math.min(x - pos, chunkRand.nextInt(8));
+                    if (n == 1) {
+                        out.write(inputArray[pos]);
+                    } else {
+                        out.write(inputArray, pos, n);
+                    }
+                    pos += n;
+                }
+            }
+            assertEquals(expectedStr, new String(asciiOut.toByteArray(), StandardCharsets.US_ASCII));
+
+            //Decode - Trickling source, which never reports anything available()
+            final byte[] encodedBytes = expectedStr.getBytes(StandardCharsets.US_ASCII);
+            final Base45InputStream in = new Base45InputStream(new TrickleInputStream(encodedBytes, chunkRand));
+            final ByteArrayOutputStream decodedOut = new ByteArrayOutputStream();
+            final byte[] buf = new byte[5];
+            int n;
+            while ((n = in.read(buf, 0, 1 + chunkRand.nextInt(buf.length))) >= 0) {
+                decodedOut.write(buf, 0, n);
+            }
+            assertArrayEquals(inputArray, decodedOut.toByteArray());
+
+            //Static wrappers
+            assertEquals(expectedStr, Base45.encode(new TrickleInputStream(inputArray, chunkRand)));
+            assertArrayEquals(inputArray, Base45.decode(new TrickleInputStream(encodedBytes, chunkRand)));
+        }
+
+        //Security Checks still apply
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(new TrickleInputStream("BB8GGW".getBytes(StandardCharsets.US_ASCII), new Random(1))));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(new TrickleInputStream("BB8B".getBytes(StandardCharsets.US_ASCII), new Random(1))));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(new TrickleInputStream("BB8bb".getBytes(StandardCharsets.US_ASCII), new Random(1))));
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void byteBufferCodecTest() throws IOException {
+        System.out.println("ByteBuffer Codec\n------------");
+
+        for (final boolean direct : new boolean[] {false, true}) {
+            for (int x=0; x<=500; x+=7) {
+                final byte[] inputArray = getTestBytes(x);
+                final String expectedStr = Base45.encode(inputArray);
+
+                //Encode - Small output window, to force OVERFLOW & looping
+                final ByteBuffer src = allocate(x, direct);
+                src.put(inputArray).flip();
+                final ByteBuffer window = allocate(4, direct);
+                final StringBuilder encoded = new StringBuilder();
+                CoderResult result;
+                do {
+                    result = Base45.encode(src, window);
+                    window.flip();
+                    while (window.hasRemaining()) {
+                        encoded.append((char) window.get());
+                    }
+                    window.clear();
+                } while (result.isOverflow());
+                assertFalse(src.hasRemaining());
+                assertEquals(expectedStr, encoded.toString());
+
+                //Decode - Input fed in small pieces, to force UNDERFLOW with held back chars
+                final byte[] encodedBytes = expectedStr.getBytes(StandardCharsets.US_ASCII);
+                final ByteBuffer in = allocate(encodedBytes.length, direct);
+                final ByteBuffer out = allocate(x, direct);
+                for (int pos=0; pos<encodedBytes.length; pos+=4) {
+                    in.put(encodedBytes, pos, Math.min(4, encodedBytes.length - pos)).flip();
+                    final boolean last = pos + 4 >= encodedBytes.length;
+                    assertTrue(Base45.decode(in, out, last).isUnderflow());
+                    in.compact();
+                }
+                out.flip();
+                final byte[] decoded = new byte[out.remaining()];
+                out.get(decoded);
+                assertArrayEquals(inputArray, decoded);
+            }
+
+            //Security Checks still apply
+            final ByteBuffer overflow = allocate(3, direct);
+            overflow.put("GGW".getBytes(StandardCharsets.US_ASCII)).flip();
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(overflow, allocate(2, direct)));
+            final ByteBuffer truncated = allocate(4, direct);
+            truncated.put("BB8B".getBytes(StandardCharsets.US_ASCII)).flip();
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(truncated, allocate(3, direct)));
+        }
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    private static ByteBuffer allocate(final int capacity, final boolean direct) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    @Test
+    public void fileTranscoderTest() throws IOException {
+        System.out.println("File Transcoder\n------------");
+
+        final Path dir = Files.createTempDirectory("base45");
+        try {
+            final Path raw = dir.resolve("raw.bin");
+            final Path encoded = dir.resolve("encoded.txt");
+            final Path decoded = dir.resolve("decoded.bin");
+
+            for (final int size : new int[] {0, 1, 2, 5, 6, 7, 12_345, 200_001}) {
+                final byte[] inputArray = getTestBytes(size);
+                Files.write(raw, inputArray);
+
+                //Default Window
+                assertEquals(Base45.encodedLength(size), Base45Files.encode(raw, encoded));
+                assertEquals(Base45.encode(inputArray), new String(Files.readAllBytes(encoded), StandardCharsets.US_ASCII));
+                assertEquals(size, Base45Files.decode(encoded, decoded));
+                assertArrayEquals(inputArray, Files.readAllBytes(decoded));
+
+                //Tiny Windows; forces many aligned window boundaries
+                final long windowSize = size < 100 ? 6 : 6_000;
+                try (FileChannel in = FileChannel.open(raw); FileChannel out = FileChannel.open(encoded, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    Base45Files.encode(in, out, windowSize);
+                }
+                assertEquals(Base45.encode(inputArray), new String(Files.readAllBytes(encoded), StandardCharsets.US_ASCII));
+                try (FileChannel in = FileChannel.open(encoded); FileChannel out = FileChannel.open(decoded, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    Base45Files.decode(in, out, windowSize);
+                }
+                assertArrayEquals(inputArray, Files.readAllBytes(decoded));
+            }
+
+            //Misaligned Window
+            try (FileChannel in = FileChannel.open(raw); FileChannel out = FileChannel.open(encoded, StandardOpenOption.WRITE)) {
+                Assert.assertThrows(IllegalArgumentException.class, () -> Base45Files.encode(in, out, 4));
+            }
+
+            //Security Checks still apply
+            Files.write(encoded, "BB8GGW".getBytes(StandardCharsets.US_ASCII));
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45Files.decode(encoded, decoded));
+        } finally {
+            for (final String name : new String[] {"raw.bin", "encoded.txt", "decoded.bin"}) {
+                Files.deleteIfExists(dir.resolve(name));
+            }
+            Files.delete(dir);
+        }
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void bulkTranscoderTest() throws IOException, InterruptedException {
+        System.out.println("Bulk Transcoder\n------------");
+
+        final Path dir = Files.createTempDirectory("base45");
+        try {
+            final Path raw = dir.resolve("raw");
+            final Path encoded = dir.resolve("encoded");
+            final Path decoded = dir.resolve("decoded");
+
+            final byte[][] payloads = new byte[200][];
+            for (int x=0; x<payloads.length; x++) {
+                payloads[x] = getTestBytes(rand.nextInt(300));
+                final Path file = raw.resolve("batch" + (x % 3)).resolve(x + ".bin");
+                Files.createDirectories(file.getParent());
+                Files.write(file, payloads[x]);
+            }
+
+            //Few permits, so the in-flight limit is exercised
+            final Base45Bulk.Summary encodeSummary = Base45Bulk.run(Base45Bulk.Mode.ENCODE, raw, encoded, 4);
+            assertEquals(payloads.length, encodeSummary.getFiles());
+            assertEquals(0, encodeSummary.getErrors());
+            assertTrue(encodeSummary.getLatencyNanos(50) <= encodeSummary.getLatencyNanos(99));
+            assertTrue(encodeSummary.toString(), encodeSummary.toString().contains("p99"));
+
+            assertEquals(0, Base45Bulk.run(Base45Bulk.Mode.VERIFY, encoded, null, 8).getErrors());
+            assertEquals(0, Base45Bulk.run(Base45Bulk.Mode.DECODE, encoded, decoded, 8).getErrors());
+            for (int x=0; x<payloads.length; x++) {
+                final String name = "batch" + (x % 3) + "/" + x + ".bin";
+                assertEquals(Base45.encode(payloads[x]), new String(Files.readAllBytes(encoded.resolve(name)), StandardCharsets.US_ASCII));
+                assertArrayEquals(payloads[x], Files.readAllBytes(decoded.resolve(name)));
+            }
+
+            //Failures are counted per file, not thrown
+            Files.write(encoded.resolve("batch0/0.bin"), "BB8GGW".getBytes(StandardCharsets.US_ASCII));
+            Files.write(encoded.resolve("batch1/1.bin"), "BB8b".getBytes(StandardCharsets.US_ASCII));
+            final Base45Bulk.Summary verifySummary = Base45Bulk.run(Base45Bulk.Mode.VERIFY, encoded, null, 8);
+            assertEquals(2, verifySummary.getErrors());
+            assertEquals(2, verifySummary.getErrorMessages().size());
+
+            //Large files are verified in chunks; errors still located by file offset
+            final Path large = dir.resolve("large");
+            final byte[] ascii = Base45.encode(getTestBytes((int) Base45Bulk.MAPPED_THRESHOLD)).getBytes(StandardCharsets.US_ASCII);
+            Files.createDirectories(large);
+            Files.write(large.resolve("valid.txt"), ascii);
+            ascii[ascii.length - 4] = 'b';
+            Files.write(large.resolve("invalid.txt"), ascii);
+            final Base45Bulk.Summary largeSummary = Base45Bulk.run(Base45Bulk.Mode.VERIFY, large, null, 2);
+            assertEquals(1, largeSummary.getErrors());
+            assertTrue(largeSummary.getErrorMessages().toString(), largeSummary.getErrorMessages().get(0).contains("invalid.txt: Invalid Base45 (reason " + Base45.ERROR_INVALID_CHAR + ") at index '" + (ascii.length - 4) + "'."));
+        } finally {
+            try (java.util.stream.Stream<Path> walk = Files.walk(dir)) {
+                for (final Path path : walk.sorted(java.util.Comparator.reverseOrder()).toArray(Path[]::new)) {
+                    Files.delete(path);
+                }
+            }
+        }
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void checksumTest() throws IOException {
+        System.out.println("Fused Checksum\n------------");
+
+        for (final int size : new int[] {0, 1, 2, 3, 4, 5, 2047, 2048, 2049, 10_001}) {
+            final byte[] payload = getTestBytes(size);
+            final CRC32 reference = new CRC32();
+            reference.update(payload, 0, payload.length);
+            final byte[] withCrc = Arrays.copyOf(payload, size + Base45Checksums.TRAILER_BYTES);
+            for (int x = 0; x < Base45Checksums.TRAILER_BYTES; x++) {
+                withCrc[size + x] = (byte) (reference.getValue() >>> (24 - 8 * x));
+            }
+            final String expectedStr = Base45.encode(payload);
+            final String expectedTrailerStr = Base45.encode(withCrc);
+
+            //Same output & checksum as the two pass path
+            final CRC32 encodeCrc = new CRC32();
+            assertEquals(expectedStr, Base45Checksums.encode(payload, encodeCrc));
+            assertEquals(reference.getValue(), encodeCrc.getValue());
+
+            final CRC32 decodeCrc = new CRC32();
+            assertArrayEquals(payload, Base45Checksums.decode(expectedStr, decodeCrc));
+            assertEquals(reference.getValue(), decodeCrc.getValue());
+
+            //Buffer variants
+            final byte[] ascii = new byte[Base45.encodedLength(size) + 1];
+            final CRC32 rangeCrc = new CRC32();
+            assertEquals(ascii.length - 1, Base45Checksums.encode(payload, 0, size, ascii, 1, rangeCrc));
+            assertEquals(reference.getValue(), rangeCrc.getValue());
+            final byte[] decoded = new byte[size];
+            rangeCrc.reset();
+            assertEquals(size, Base45Checksums.decode(ascii, 1, ascii.length - 1, decoded, 0, rangeCrc));
+            assertArrayEquals(payload, decoded);
+            assertEquals(reference.getValue(), rangeCrc.getValue());
+
+            //Trailer
+            assertEquals(expectedTrailerStr, Base45Checksums.encodeWithCrc32(payload));
+            assertArrayEquals(payload, Base45Checksums.decodeWithCrc32(expectedTrailerStr));
+
+            //Streams, in odd sized pieces
+            final ByteArrayOutputStream asciiOut = new ByteArrayOutputStream();
+            final CRC32 streamCrc = new CRC32();
+            try (Base45OutputStream out = new Base45OutputStream(asciiOut, streamCrc, true)) {
+                for (int off = 0; off < size; off += 333) {
+                    out.write(payload, off, Math.min(333, size - off));
+                }
+            }
+            assertEquals(expectedTrailerStr, new String(asciiOut.toByteArray(), StandardCharsets.US_ASCII));
+            assertEquals(reference.getValue(), streamCrc.getValue());
+
+            final CRC32 inCrc = new CRC32();
+            try (InputStream in = new Base45InputStream(new ByteArrayInputStream(asciiOut.toByteArray()), inCrc, true)) {
+                assertArrayEquals(payload, readAll(in));
+            }
+            assertEquals(reference.getValue(), inCrc.getValue());
+
+            //Corrupted payload, with the original trailer
+            if (size > 0) {
+                final byte[] corrupted = withCrc.clone();
+                corrupted[size / 2] ^= 0x10;
+                final String corruptedStr = Base45.encode(corrupted);
+                final String msg = Assert.assertThrows(IllegalArgumentException.class, () -> Base45Checksums.decodeWithCrc32(corruptedStr)).getMessage();
+                assertTrue(msg, msg.contains("Checksum mismatch"));
+                Assert.assertThrows(IllegalArgumentException.class,
+                        () -> readAll(new Base45InputStream(new ByteArrayInputStream(corruptedStr.getBytes(StandardCharsets.US_ASCII)), new CRC32(), true)));
+            }
+        }
+
+        //Too short for a trailer
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Checksums.decodeWithCrc32("00000"));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> readAll(new Base45InputStream(new ByteArrayInputStream("00000".getBytes(StandardCharsets.US_ASCII)), new CRC32(), true)));
+
+        //Base45 Security Checks still apply
+        final String validStr = Base45Checksums.encodeWithCrc32(getTestBytes(5_000));
+        final String invalidMsg = Assert.assertThrows(IllegalArgumentException.class,
+                () -> Base45Checksums.decodeWithCrc32(validStr.substring(0, 4000) + "a" + validStr.substring(4001))).getMessage();
+        assertTrue(invalidMsg, invalidMsg.contains("index '4000'"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Checksums.decodeWithCrc32("GGW" + validStr.substring(3)));
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void base64TranscoderTest() throws IOException {
+        System.out.println("Base64 Transcoder\n------------");
+
+        //Around the 6K byte window
+        for (final int size : new int[] {0, 1, 2, 3, 4, 6143, 6144, 6145, 12_288, 20_001}) {
+            final byte[] payload = getTestBytes(size);
+            final String base64 = Base64.getEncoder().encodeToString(payload);
+            final String base45 = Base45.encode(payload);
+
+            //Same output as the two step path
+            assertEquals(base45, Base45Transcoder.base64ToBase45(base64));
+            assertEquals(base64, Base45Transcoder.base45ToBase64(base45));
+
+            //Streams, with short reads
+            final ByteArrayOutputStream base45Out = new ByteArrayOutputStream();
+            assertEquals(base45.length(), Base45Transcoder.base64ToBase45(new TrickleInputStream(base64.getBytes(StandardCharsets.US_ASCII), rand), base45Out));
+            assertEquals(base45, new String(base45Out.toByteArray(), StandardCharsets.US_ASCII));
+
+            final ByteArrayOutputStream base64Out = new ByteArrayOutputStream();
+            assertEquals(base64.length(), Base45Transcoder.base45ToBase64(new TrickleInputStream(base45.getBytes(StandardCharsets.US_ASCII), rand), base64Out));
+            assertEquals(base64, new String(base64Out.toByteArray(), StandardCharsets.US_ASCII));
+        }
+
+        //Unpadded Base64 is accepted, as by the JDK's decoder
+        assertEquals(Base45.encode(new byte[] {1}), Base45Transcoder.base64ToBase45("AQ"));
+
+        //Padding at the end of a window is still rejected, when more input follows
+        final String base64 = Base64.getEncoder().encodeToString(getTestBytes(12_288));
+        final String paddedMid = base64.substring(0, 8190) + "==" + base64.substring(8192);
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base64.getDecoder().decode(paddedMid));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Transcoder.base64ToBase45(paddedMid));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> Base45Transcoder.base64ToBase45(new ByteArrayInputStream(paddedMid.getBytes(StandardCharsets.US_ASCII)), new ByteArrayOutputStream()));
+
+        //Invalid Base64
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Transcoder.base64ToBase45("AQ*="));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Transcoder.base64ToBase45("AQ\u0141="));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Transcoder.base64ToBase45("A"));
+
+        //Base45 Security Checks still apply
+        final String base45 = Base45.encode(getTestBytes(20_000));
+        final String invalidStr = base45.substring(0, 10_000) + "a" + base45.substring(10_001);
+        final String invalidMsg = Assert.assertThrows(IllegalArgumentException.class, () -> Base45Transcoder.base45ToBase64(invalidStr)).getMessage();
+        assertTrue(invalidMsg, invalidMsg.contains("index '10000'"));
+        final String streamMsg = Assert.assertThrows(IllegalArgumentException.class,
+                () -> Base45Transcoder.base45ToBase64(new ByteArrayInputStream(invalidStr.getBytes(StandardCharsets.US_ASCII)), new ByteArrayOutputStream())).getMessage();
+        assertTrue(streamMsg, streamMsg.contains("index '10000'"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Transcoder.base45ToBase64("GGW"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Transcoder.base45ToBase64("0000"));
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void parallelCodecTest() throws IOException {
+        System.out.println("Parallel Codec\n------------");
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final int size : new int[] {0, 1, 6, 7, 1_000, 1_001, 100_000, 100_003}) {
+                final byte[] inputArray = getTestBytes(size);
+                final String expectedStr = Base45.encode(inputArray);
+
+                //Small threshold, to force many splits
+                final String encodedStr = Base45Parallel.encode(inputArray, pool, 64);
+                assertEquals(expectedStr, encodedStr);
+                assertArrayEquals(inputArray, Base45Parallel.decode(encodedStr, pool, 64));
+
+                //Default threshold; runs serially for these sizes
+                assertEquals(expectedStr, Base45Parallel.encode(inputArray));
+                assertArrayEquals(inputArray, Base45Parallel.decode(encodedStr));
+            }
+
+            //Security Checks still apply, in any chunk; with the same message as the serial path
+            final StringBuilder invalid = new StringBuilder(Base45.encode(getTestBytes(200_000)));
+            invalid.replace(9_000, 9_003, "GGW");
+            assertParallelDecodeFails(invalid.toString(), pool);
+            invalid.replace(9_000, 9_003, "BB8").setCharAt(299_998, 'a');
+            assertParallelDecodeFails(invalid.toString(), pool);
+
+            //Non-ASCII chars are reported as they are, not as '?'
+            invalid.setCharAt(299_998, '\u0141');
+            final String msg = assertParallelDecodeFails(invalid.toString(), pool);
+            assertTrue(msg, !msg.contains("'?'"));
+        } finally {
+            pool.shutdown();
+        }
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void tableCodecTest() throws IOException {
+        System.out.println("Table Codec\n------------");
+
+        //Every double-byte value
+        final byte[] allPairs = new byte[0x10000 * 2];
+        for (int n=0; n<0x10000; n++) {
+            allPairs[n * 2] = (byte) (n >> 8);
+            allPairs[n * 2 + 1] = (byte) n;
+        }
+        final byte[] expected = Base45.encode(allPairs).getBytes(StandardCharsets.US_ASCII);
+        final byte[] encoded = new byte[expected.length];
+        assertEquals(expected.length, Base45.encodeFast(allPairs, 0, allPairs.length, encoded, 0));
+        assertArrayEquals(expected, encoded);
+        final byte[] decoded = new byte[allPairs.length];
+        assertEquals(allPairs.length, Base45.decodeFast(encoded, 0, encoded.length, decoded, 0));
+        assertArrayEquals(allPairs, decoded);
+
+        //Odd lengths & offsets
+        for (int x=0; x<=300; x++) {
+            final byte[] inputArray = getTestBytes(x);
+            final byte[] asciiBuf = new byte[3 + Base45.encodedLength(x)];
+            final int numChars = Base45.encodeFast(inputArray, 0, x, asciiBuf, 3);
+            assertEquals(Base45.encode(inputArray), new String(asciiBuf, 3, numChars, StandardCharsets.US_ASCII));
+
+            final byte[] bytesBuf = new byte[3 + x];
+            assertEquals(x, Base45.decodeFast(asciiBuf, 3, numChars, bytesBuf, 3));
+            for (int y=0; y<x; y++) {
+                assertEquals(inputArray[y], bytesBuf[3 + y]);
+            }
+        }
+
+        //Security Checks still apply
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decodeFast("GGW".getBytes(StandardCharsets.US_ASCII), 0, 3, new byte[2], 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decodeFast("BB8B".getBytes(StandardCharsets.US_ASCII), 0, 4, new byte[3], 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decodeFast("BbB".getBytes(StandardCharsets.US_ASCII), 0, 3, new byte[2], 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> SecureLookupWrapper.doTripletLookup(0x10000, 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> SecureLookupWrapper.doTripletLookup(-1, 0));
+
+        //Deferred error location matches the regular decoder
+        final byte[] valid = Base45.encode(getTestBytes(3_000)).getBytes(StandardCharsets.US_ASCII);
+        for (final String bad : new String[] {"GGW", "B8b", "\u00c1B8", ":::"}) {
+            final byte[] invalid = valid.clone();
+            final byte[] badBytes = bad.getBytes(StandardCharsets.ISO_8859_1);
+            System.arraycopy(badBytes, 0, invalid, 2_100, badBytes.length);
+
+            final String expectedMsg = Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(invalid, 0, invalid.length, new byte[3_000], 0)).getMessage();
+            final String fastMsg = Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decodeFast(invalid, 0, invalid.length, new byte[3_000], 0)).getMessage();
+            assertEquals(expectedMsg, fastMsg);
+        }
+
+        //Non-throwing lookups
+        for (int b=-300; b<300; b++) {
+            assertEquals(isValidBase45Char(b), SecureLookupWrapper.tryReverseLookup(b) >= 0);
+        }
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void nonThrowingDecodeTest() throws IOException {
+        System.out.println("Non-Throwing Decode\n------------");
+
+        //Valid Input
+        for (int x=0; x<=300; x++) {
+            final byte[] inputArray = getTestBytes(x);
+            final String encodedStr = Base45.encode(inputArray);
+            assertEquals(x, Base45.validate(encodedStr));
+
+            final byte[] decodedBuf = new byte[x];
+            assertEquals(x, Base45.tryDecode(encodedStr, 0, encodedStr.length(), decodedBuf, 0));
+            assertArrayEquals(inputArray, decodedBuf);
+
+            final byte[] encodedBytes = encodedStr.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(x, Base45.tryDecode(encodedBytes, 0, encodedBytes.length, decodedBuf, 0));
+            assertArrayEquals(inputArray, decodedBuf);
+            assertEquals(x, Base45.validate(encodedBytes, 0, encodedBytes.length));
+
+            //Null dst only validates; for both overloads
+            assertEquals(x, Base45.tryDecode(encodedStr, 0, encodedStr.length(), null, 0));
+            assertEquals(x, Base45.tryDecode(encodedBytes, 0, encodedBytes.length, null, 0));
+        }
+        assertEquals(0, Base45.errorReason(5));
+        assertEquals(-1, Base45.errorIndex(5));
+
+        //Rejections
+        final Object[][] cases = new Object[][] {
+                //Input,        Reason,                     Index
+                {"GGW",         Base45.ERROR_OVERFLOW,      0},
+                {"BB8GGW",      Base45.ERROR_OVERFLOW,      3},
+                {"BB8:::",      Base45.ERROR_OVERFLOW,      3},
+                {"BB8B",        Base45.ERROR_TRUNCATED,     4},
+                {"BB8b",        Base45.ERROR_INVALID_CHAR,  3},
+                {"BB8Bb",       Base45.ERROR_INVALID_CHAR,  4},
+                {"BbGGW",       Base45.ERROR_INVALID_CHAR,  1},
+                {"BB\u0141",    Base45.ERROR_INVALID_CHAR,  2},
+                {"BB\u00c1",    Base45.ERROR_INVALID_CHAR,  2},
+        };
+        for (final Object[] testCase : cases) {
+            final String input = (String) testCase[0];
+            final long result = Base45.validate(input);
+            System.out.println("\"" + input + "\":\tReason: " + Base45.errorReason(result) + "\tIndex: " + Base45.errorIndex(result));
+
+            assertTrue(result < 0);
+            assertEquals(testCase[1], Base45.errorReason(result));
+            assertEquals(testCase[2], Base45.errorIndex(result));
+            assertEquals(result, Base45.tryDecode(input, 0, input.length(), new byte[4], 0));
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(input));
+
+            final byte[] inputBytes = input.getBytes(StandardCharsets.ISO_8859_1);
+            if (input.charAt(input.length() - 1) < 256) {
+                assertEquals(result, Base45.tryDecode(inputBytes, 0, inputBytes.length, new byte[4], 0));
+                assertEquals(result, Base45.tryDecode(inputBytes, 0, inputBytes.length, null, 0));
+                assertEquals(result, Base45.validate(inputBytes, 0, inputBytes.length));
+            }
+        }
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void qrSegmentTest() throws IOException {
+        System.out.println("QR Segment\n------------");
+
+        final String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:";
+        for (final int version : new int[] {1, 9, 10, 26, 27, 40}) {
+            for (int x=0; x<=200; x+=3) {
+                final byte[] inputArray = getTestBytes(x);
+
+                //Reference: Encode to a String, then pack it the way a QR library would.
+                final String encodedStr = Base45.encode(inputArray);
+                final StringBuilder expectedBits = new StringBuilder();
+                appendBits(expectedBits, Base45Qr.MODE_ALPHANUMERIC, 4);
+                appendBits(expectedBits, encodedStr.length(), Base45Qr.characterCountBits(version));
+                for (int y=0; y<encodedStr.length(); y+=2) {
+                    if (y + 1 < encodedStr.length()) {
+                        appendBits(expectedBits, alphabet.indexOf(encodedStr.charAt(y)) * 45 + alphabet.indexOf(encodedStr.charAt(y + 1)), 11);
+                    } else {
+                        appendBits(expectedBits, alphabet.indexOf(encodedStr.charAt(y)), 6);
+                    }
+                }
+                assertEquals(expectedBits.length(), Base45Qr.segmentBitLength(x, version));
+
+                //byte[] Buffer; at an unaligned offset, after existing content which must be kept
+                final int bitOffset = 5;
+                final byte[] byteBits = new byte[(bitOffset + expectedBits.length() + 7) / 8];
+                byteBits[0] = (byte) 0xA8;
+                assertEquals(bitOffset + expectedBits.length(), Base45Qr.appendSegment(inputArray, 0, x, version, byteBits, bitOffset));
+                assertEquals(0xA8, byteBits[0] & 0xF8);
+                for (int y=0; y<expectedBits.length(); y++) {
+                    final int bit = bitOffset + y;
+                    assertEquals(expectedBits.charAt(y) == '1', ((byteBits[bit / 8] >>> (7 - bit % 8)) & 1) == 1);
+                }
+
+                //long[] Buffer
+                final long[] longBits = new long[(bitOffset + expectedBits.length() + 63) / 64];
+                assertEquals(bitOffset + expectedBits.length(), Base45Qr.appendSegment(inputArray, 0, x, version, longBits, bitOffset));
+                for (int y=0; y<expectedBits.length(); y++) {
+                    final int bit = bitOffset + y;
+                    assertEquals(expectedBits.charAt(y) == '1', ((longBits[bit / 64] >>> (63 - bit % 64)) & 1) == 1);
+                }
+            }
+        }
+
+        //Bounds
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Qr.characterCountBits(41));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Qr.appendSegment(new byte[400], 0, 400, 1, new byte[1024], 0));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> Base45Qr.appendSegment(new byte[4], 0, 4, 1, new byte[4], 0));
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    private static void appendBits(final StringBuilder sb, final int value, final int numBits) {
+        for (int x=numBits-1; x>=0; x--) {
+            sb.append(((value >>> x) & 1) == 1 ? '1' : '0');
+        }
+    }
+
+    @Test
+    public void pushDecoderTest() throws IOException {
+        System.out.println("Push Decoder\n------------");
+
+        final Random chunkRand = new Random(7);
+        final Base45Decoder decoder = new Base45Decoder();
+        for (int x=0; x<=1_000; x+=13) {
+            final byte[] inputArray = getTestBytes(x);
+            final String encodedStr = Base45.encode(inputArray);
+            final byte[] encodedBytes = encodedStr.getBytes(StandardCharsets.US_ASCII);
+
+            //byte[] Chunks; the decoder is reused across inputs
+            final ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+            final byte[] out = new byte[64];
+            for (int pos=0; pos<encodedBytes.length; ) {
+                final int n = Math.min(encodedBytes.length - pos, chunkRand.nextInt(7));
+                assertTrue(decoder.maxUpdateLength(n) <= out.length);
+                bytesOut.write(out, 0, decoder.update(encodedBytes, pos, n, out, 0));
+                pos += n;
+            }
+            bytesOut.write(out, 0, decoder.finish(out, 0));
+            assertArrayEquals(inputArray, bytesOut.toByteArray());
+
+            //CharSequence Chunks
+            final ByteArrayOutputStream charsOut = new ByteArrayOutputStream();
+            for (int pos=0; pos<encodedStr.length(); ) {
+                final int n = Math.min(encodedStr.length() - pos, chunkRand.nextInt(1_000));
+                charsOut.write(decoder.update(encodedStr.subSequence(pos, pos + n)));
+                pos += n;
+            }
+            charsOut.write(decoder.finish());
+            assertArrayEquals(inputArray, charsOut.toByteArray());
+        }
+
+        //Security Checks still apply; locations are relative to the whole input
+        decoder.update("BB8G");
+        final String overflowMsg = Assert.assertThrows(IllegalArgumentException.class, () -> decoder.update("GW")).getMessage();
+        assertTrue(overflowMsg, overflowMsg.contains("index '3'"));
+        decoder.reset();
+
+        decoder.update("BB8B");
+        Assert.assertThrows(IllegalArgumentException.class, decoder::finish);
+
+        decoder.update("BB8");
+        final String invalidMsg = Assert.assertThrows(IllegalArgumentException.class, () -> decoder.update("B\u0141B")).getMessage();
+        assertTrue(invalidMsg, invalidMsg.contains("index '4'"));
+        decoder.reset();
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void charsetTest() throws IOException {
+        System.out.println("Charset\n------------");
+
+        final Charset charset = Charset.forName("X-BASE45");
+        assertSame(Base45Charset.INSTANCE, charset);
+        assertSame(Base45Charset.INSTANCE, Charset.forName("base45"));
+
+        for (int x=0; x<=20_000; x+=1_111) {
+            final byte[] inputArray = getTestBytes(x);
+            final String expectedStr = Base45.encode(inputArray);
+
+            //Decoder: bytes -> Base45 text; through small, bounded buffers
+            final CharsetDecoder decoder = charset.newDecoder();
+            final ByteBuffer in = ByteBuffer.wrap(inputArray);
+            final CharBuffer window = CharBuffer.allocate(64);
+            final StringBuilder text = new StringBuilder();
+            CoderResult decodeResult;
+            do {
+                decodeResult = decoder.decode(in, window, true);
+                window.flip();
+                text.append(window);
+                window.clear();
+            } while (decodeResult.isOverflow());
+            CoderResult flushResult;
+            do {
+                flushResult = decoder.flush(window);
+                window.flip();
+                text.append(window);
+                window.clear();
+            } while (flushResult.isOverflow());
+            assertEquals(expectedStr, text.toString());
+
+            //Writer: Base45 text -> bytes; written in uneven pieces
+            final ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+            try (Writer writer = new OutputStreamWriter(bytesOut, charset.newEncoder())) {
+                for (int pos=0; pos<expectedStr.length(); pos+=7) {
+                    writer.write(expectedStr, pos, Math.min(7, expectedStr.length() - pos));
+                }
+            }
+            assertArrayEquals(inputArray, bytesOut.toByteArray());
+
+            //Encoder: Base45 text -> bytes; through a 1 byte buffer, as sized by maxBytesPerChar()
+            final CharsetEncoder encoder = charset.newEncoder();
+            final CharBuffer chars = CharBuffer.wrap(expectedStr);
+            final ByteBuffer oneByte = ByteBuffer.allocate((int) encoder.maxBytesPerChar());
+            final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            CoderResult encodeResult;
+            do {
+                encodeResult = encoder.encode(chars, oneByte, true);
+                assertFalse(encodeResult.isError());
+                assertTrue("No progress on overflow", encodeResult.isUnderflow() || oneByte.position() > 0);
+                oneByte.flip();
+                while (oneByte.hasRemaining()) {
+                    encoded.write(oneByte.get());
+                }
+                oneByte.clear();
+            } while (encodeResult.isOverflow());
+            do {
+                flushResult = encoder.flush(oneByte);
+                oneByte.flip();
+                while (oneByte.hasRemaining()) {
+                    encoded.write(oneByte.get());
+                }
+                oneByte.clear();
+            } while (flushResult.isOverflow());
+            assertArrayEquals(inputArray, encoded.toByteArray());
+
+            //String Convenience Methods
+            assertEquals(expectedStr, new String(inputArray, charset));
+            assertArrayEquals(inputArray, expectedStr.getBytes(charset));
+        }
+
+        //Security Checks become malformed-input results
+        for (final String invalid : new String[] {"GGW", "BB8b", "BB8B", "BB8\u0141B"}) {
+            Assert.assertThrows(CharacterCodingException.class, () -> charset.newEncoder().encode(CharBuffer.wrap(invalid)));
+        }
+        final CharsetEncoder encoder = charset.newEncoder();
+        final ByteBuffer out = ByteBuffer.allocate(16);
+        final CoderResult result = encoder.encode(CharBuffer.wrap("BB8GGWBB8"), out, true);
+        assertTrue(result.isMalformed());
+        assertEquals(3, result.length());
+        assertEquals(2, out.position());
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void zlibPipelineTest() throws IOException, DataFormatException {
+        System.out.println("Zlib Pipeline\n------------");
+
+        try (Base45Zlib pipeline = new Base45Zlib("HC1:", Deflater.BEST_COMPRESSION)) {
+            //RFC 9285 Section 4.3 & 4.4 Examples; plus larger, incompressible data
+            final byte[][] payloads = {
+                "AB".getBytes(StandardCharsets.US_ASCII),
+                "Hello!!".getBytes(StandardCharsets.US_ASCII),
+                "base-45".getBytes(StandardCharsets.US_ASCII),
+                "ietf!".getBytes(StandardCharsets.US_ASCII),
+                new byte[0],
+                getTestBytes(1),
+                getTestBytes(5_000),
+                getTestBytes(50_001),
+            };
+            for (final byte[] payload : payloads) {
+                //Same output as the three step path
+                final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+                deflater.setInput(payload);
+                deflater.finish();
+                final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                final byte[] buf = new byte[512];
+                while (!deflater.finished()) {
+                    compressed.write(buf, 0, deflater.deflate(buf));
+                }
+                deflater.end();
+                final String expectedStr = "HC1:" + Base45.encode(compressed.toByteArray());
+
+                //Reused instance, both directions
+                final String encodedStr = pipeline.encode(payload);
+                assertEquals(expectedStr, encodedStr);
+                assertArrayEquals(payload, pipeline.decode(encodedStr));
+            }
+
+            //Prefix is required
+            Assert.assertThrows(IllegalArgumentException.class, () -> pipeline.decode("HC2:" + Base45.encode(new byte[] {0x78, (byte) 0x9C})));
+
+            //Base45 Security Checks still apply; locations are relative to the end of the prefix
+            final String validStr = pipeline.encode(getTestBytes(100));
+            final String invalidMsg = Assert.assertThrows(IllegalArgumentException.class,
+                    () -> pipeline.decode(validStr.substring(0, 10) + "a" + validStr.substring(11))).getMessage();
+            assertTrue(invalidMsg, invalidMsg.contains("index '6'"));
+            Assert.assertThrows(IllegalArgumentException.class, () -> pipeline.decode(validStr.substring(0, 10) + "GGW" + validStr.substring(13)));
+
+            //Not a complete zlib stream
+            Assert.assertThrows(DataFormatException.class, () -> pipeline.decode(validStr.substring(0, validStr.length() - 6)));
+            Assert.assertThrows(DataFormatException.class, () -> pipeline.decode("HC1:" + Base45.encode("ietf!".getBytes(StandardCharsets.US_ASCII))));
+            Assert.assertThrows(DataFormatException.class, () -> pipeline.decode(validStr + "000"));
+        }
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void codecInstanceTest() throws IOException {
+        System.out.println("Codec Instances\n------------");
+
+        //The static methods run on the default instance
+        assertEquals(Base45Codec.STANDARD_ALPHABET, Base45Codec.DEFAULT.getAlphabet());
+        assertEquals(Base45Codec.ScratchBuffers.NONE, Base45Codec.DEFAULT.getScratchBuffers());
+        assertEquals("%69 VD92EX0", Base45Codec.DEFAULT.encode("Hello!!".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals("ietf!", new String(Base45Codec.DEFAULT.decode("QED8WEX0"), StandardCharsets.US_ASCII));
+
+        //Custom alphabet; e.g. URL safe symbols
+        final Base45Codec urlSafe = Base45Codec.builder()
+                .alphabet("0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_$~*!-.,:")
+                .scratchBuffers(Base45Codec.ScratchBuffers.NONE)
+                .build();
+        final Base45Codec threadLocal = urlSafe.toBuilder().scratchBuffers(Base45Codec.ScratchBuffers.THREAD_LOCAL).build();
+        for (int x=0; x<=100_000; x+=3_333) {
+            final byte[] inputArray = getTestBytes(x);
+            final String standardStr = Base45.encode(inputArray);
+            final String encodedStr = urlSafe.encode(inputArray);
+
+            //Same digits, different chars
+            final StringBuilder expectedStr = new StringBuilder(standardStr.length());
+            for (int i=0; i<standardStr.length(); i++) {
+                expectedStr.append(urlSafe.getAlphabet().charAt(Base45Codec.STANDARD_ALPHABET.indexOf(standardStr.charAt(i))));
+            }
+            assertEquals(expectedStr.toString(), encodedStr);
+            assertEquals(encodedStr, threadLocal.encode(inputArray));
+            assertArrayEquals(inputArray, urlSafe.decode(encodedStr));
+            assertArrayEquals(inputArray, threadLocal.decode(new StringBuilder(encodedStr)));
+        }
+        Assert.assertThrows(IllegalArgumentException.class, () -> urlSafe.decode("AB "));
+
+        //Case-insensitive decoding is opt in
+        final Base45Codec lenient = Base45Codec.builder().caseInsensitive(true).build();
+        assertEquals("ietf!", new String(lenient.decode("qed8wex0"), StandardCharsets.US_ASCII));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Codec.DEFAULT.decode("qed8wex0"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> lenient.decode("GGW"));
+
+        //Invalid Alphabets
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Codec.builder().alphabet("0123456789").build());
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Codec.builder().alphabet(Base45Codec.STANDARD_ALPHABET.replace(':', '0')).build());
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Codec.builder().alphabet(Base45Codec.STANDARD_ALPHABET.replace(':', '\u00c1')).build());
+        Assert.assertThrows(IllegalArgumentException.class, () -> Base45Codec.builder().alphabet(Base45Codec.STANDARD_ALPHABET.replace(':', 'a')).caseInsensitive(true).build());
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void batchCodecTest() throws IOException {
+        System.out.println("Batch Codec\n------------");
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final byte[][] payloads = new byte[2_000][];
+            for (int x=0; x<payloads.length; x++) {
+                payloads[x] = getTestBytes(rand.nextInt(201));
+            }
+            final Base45Batch batch = Base45Batch.of(payloads);
+            assertEquals(payloads.length, batch.size());
+
+            //Sequential & Parallel
+            for (final int threshold : new int[] {Base45Batch.DEFAULT_THRESHOLD, 1, 1_000}) {
+                final Base45Batch encoded = batch.encode(pool, threshold);
+                assertEquals(payloads.length + 1, encoded.offsets().length);
+                for (int x=0; x<payloads.length; x++) {
+                    assertEquals(Base45.encode(payloads[x]), encoded.getString(x));
+                }
+
+                final Base45Batch decoded = encoded.decode(pool, threshold);
+                assertArrayEquals(batch.data(), decoded.data());
+                assertArrayEquals(batch.offsets(), decoded.offsets());
+            }
+
+            //Flat buffer plus offsets; need not start at 0
+            final byte[] flat = "xxAB%69 VD92EX0QED8WEX0".getBytes(StandardCharsets.US_ASCII);
+            final Base45Batch decoded = Base45Batch.wrap(flat, new int[] {2, 4, 4, 15, 23}).decode();
+            assertEquals(4, decoded.size());
+            assertEquals(0, decoded.length(1));
+            assertEquals("Hello!!", new String(decoded.get(2), StandardCharsets.US_ASCII));
+            assertEquals("ietf!", new String(decoded.get(3), StandardCharsets.US_ASCII));
+
+            //Invalid entries are reported by index
+            final byte[] invalid = "BB8GGWBB8".getBytes(StandardCharsets.US_ASCII);
+            for (final int threshold : new int[] {Base45Batch.DEFAULT_THRESHOLD, 1}) {
+                final String msg = Assert.assertThrows(IllegalArgumentException.class, () -> Base45Batch.wrap(invalid, new int[] {0, 3, 6, 9}).decode(pool, threshold)).getMessage();
+                assertTrue(msg, msg.startsWith("Failed in batch entry '1'"));
+            }
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45Batch.wrap(invalid, new int[] {0, 3, 1}));
+            Assert.assertThrows(IndexOutOfBoundsException.class, () -> Base45Batch.wrap(invalid, new int[] {0, 3, 10}));
+            Assert.assertThrows(IndexOutOfBoundsException.class, () -> batch.get(payloads.length));
+        } finally {
+            pool.shutdown();
+        }
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void metricsTest() throws IOException {
+        System.out.println("Metrics\n------------");
+
+        final Base45Metrics.Counters counters = new Base45Metrics.Counters();
+        Base45.setMetrics(counters);
+        try {
+            assertSame(counters, Base45.getMetrics());
+
+            assertEquals("%69 VD92EX0", Base45.encode("Hello!!".getBytes(StandardCharsets.US_ASCII)));
+            assertEquals("ietf!", new String(Base45.decode("QED8WEX0"), StandardCharsets.US_ASCII));
+            assertEquals(7, Base45.decode("%69 VD92EX0".getBytes(StandardCharsets.US_ASCII), 0, 11, new byte[7], 0));
+            assertEquals(1, counters.getEncodeCalls());
+            assertEquals(7, counters.getBytesEncoded());
+            assertEquals(11, counters.getCharsEncoded());
+            assertEquals(2, counters.getDecodeCalls());
+            assertEquals(19, counters.getCharsDecoded());
+            assertEquals(12, counters.getBytesDecoded());
+
+            //Rejections by reason; thrown & non-throwing
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode("BB8b"));
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode("B\u0141B"));
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode("GGW"));
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode("BB8B".getBytes(StandardCharsets.US_ASCII), 0, 4, new byte[4], 0));
+            assertTrue(Base45.validate("GGWGGW") < 0);
+            assertTrue(Base45.validate("BB8B".getBytes(StandardCharsets.US_ASCII), 0, 4) < 0);
+            assertEquals(2, counters.getRejections(Base45.ERROR_INVALID_CHAR));
+            assertEquals(2, counters.getRejections(Base45.ERROR_OVERFLOW));
+            assertEquals(2, counters.getRejections(Base45.ERROR_TRUNCATED));
+            assertEquals(2, counters.getDecodeCalls());
+
+            counters.reset();
+            assertEquals(0, counters.getEncodeCalls());
+            assertEquals(0, counters.getRejections(Base45.ERROR_OVERFLOW));
+        } finally {
+            Base45.setMetrics(null);
+        }
+
+        //Nothing reported once removed
+        Base45.encode(new byte[10]);
+        assertEquals(0, counters.getEncodeCalls());
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void decodeCacheTest() throws IOException {
+        System.out.println("Decode Cache\n------------");
+
+        final AtomicLong now = new AtomicLong();
+        final Base45DecodeCache cache = Base45DecodeCache.builder()
+                .maximumSize(4)
+                .stripes(1)
+                .expireAfterWrite(10, TimeUnit.SECONDS)
+                .clock(now::get)
+                .build();
+
+        //Miss, then Hit
+        assertEquals("ietf!", new String(cache.decode("QED8WEX0"), StandardCharsets.US_ASCII));
+        assertEquals("ietf!", new String(cache.decode("QED8WEX0"), StandardCharsets.US_ASCII));
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+
+        //Callers can't modify the cached result
+        cache.decode("QED8WEX0")[0] = 'X';
+        final ByteBuffer view = cache.decodeToBuffer("QED8WEX0");
+        assertTrue(view.isReadOnly());
+        assertEquals('i', view.get(0));
+        assertEquals("ietf!", new String(cache.decode("QED8WEX0"), StandardCharsets.US_ASCII));
+
+        //Least recently used is evicted first
+        for (final String str : new String[] {"BB8", "%69 VD92EX0", "UJCLQE7W581", "QED8WEX0", "00000"}) {
+            cache.decode(str);
+        }
+        assertEquals(4, cache.size());
+        assertEquals(1, cache.evictionCount());
+        final long misses = cache.missCount();
+        cache.decode("QED8WEX0");
+        assertEquals(misses, cache.missCount());
+        cache.decode("BB8");
+        assertEquals(misses + 1, cache.missCount());
+
+        //Expiry
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        cache.decode("QED8WEX0");
+        assertEquals(misses + 2, cache.missCount());
+
+        //Invalid input is never cached
+        Assert.assertThrows(IllegalArgumentException.class, () -> cache.decode("GGW"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> cache.decode("GGW"));
+        assertEquals(misses + 4, cache.missCount());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+
+        //Concurrent scanners
+        final Base45DecodeCache shared = Base45DecodeCache.builder().maximumSize(1024).build();
+        final String[] inputs = new String[32];
+        for (int x=0; x<inputs.length; x++) {
+            inputs[x] = Base45.encode(getTestBytes(100));
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.submit(() -> java.util.stream.IntStream.range(0, 10_000).parallel().forEach(i -> {
+                final String input = inputs[i % inputs.length];
+                assertEquals(input, Base45Codec.DEFAULT.encode(shared.decode(input)));
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(10_000, shared.hitCount() + shared.missCount());
+        assertTrue(shared.hitCount() >= 10_000 - 8 * inputs.length);
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void multiPartTest() throws IOException {
+        System.out.println("Multi Part\n------------");
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final int numBytes : new int[] {0, 1, 2, 3, 100, 1_001, 50_000}) {
+                final byte[] payload = getTestBytes(numBytes);
+                for (final int maxChars : new int[] {Base45MultiPart.MIN_PART_CHARS, 10, 11, 100, 4_296}) {
+                    if (Base45MultiPart.partCount(numBytes, maxChars) > 5_000) {
+                        continue;
+                    }
+                    final String[] parts = Base45MultiPart.split(payload, maxChars);
+                    assertEquals(Base45MultiPart.partCount(numBytes, maxChars), parts.length);
+
+                    //Each part is a standalone Base45 string, within the limit
+                    for (final String part : parts) {
+                        assertTrue(part.length() <= maxChars);
+                        assertTrue(Base45.validate(part) >= 4);
+                    }
+
+                    //Any order; sequential & parallel
+                    final String[] shuffled = parts.clone();
+                    java.util.Collections.shuffle(java.util.Arrays.asList(shuffled), rand);
+                    assertArrayEquals(payload, Base45MultiPart.join(shuffled));
+                    assertArrayEquals(payload, Base45MultiPart.join(shuffled, pool, 1));
+                }
+            }
+
+            //Incomplete or inconsistent sets
+            final String[] parts = Base45MultiPart.split(getTestBytes(1_000), 100);
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45MultiPart.join(java.util.Arrays.copyOf(parts, parts.length - 1)));
+            final String[] duplicated = parts.clone();
+            duplicated[1] = duplicated[0];
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45MultiPart.join(duplicated));
+            final String[] truncated = parts.clone();
+            truncated[2] = truncated[2].substring(0, truncated[2].length() - 3);
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45MultiPart.join(truncated));
+
+            //Invalid parts are reported by number
+            for (final int threshold : new int[] {Base45MultiPart.DEFAULT_THRESHOLD, 1}) {
+                final String[] invalid = parts.clone();
+                invalid[3] = invalid[3].substring(0, 9) + "GGW" + invalid[3].substring(12);
+                final String msg = Assert.assertThrows(IllegalArgumentException.class, () -> Base45MultiPart.join(invalid, pool, threshold)).getMessage();
+                assertTrue(msg, msg.startsWith("Failed in part 4 of " + parts.length + ": "));
+                assertTrue(msg, msg.contains("index '9'"));
+            }
+
+            //Never returns normally when any part fails to decode; whichever part, and wherever in it
+            for (int x=0; x<parts.length; x++) {
+                for (final String bad : new String[] {"GGW", "ab$", "0:~"}) {
+                    final int at = Base45MultiPart.HEADER_CHARS + 3 * (x % ((parts[x].length() - Base45MultiPart.HEADER_CHARS) / 3));
+                    final String[] invalid = parts.clone();
+                    invalid[x] = invalid[x].substring(0, at) + bad + invalid[x].substring(at + 3);
+                    for (final int threshold : new int[] {Base45MultiPart.DEFAULT_THRESHOLD, 1}) {
+                        final String msg = Assert.assertThrows(IllegalArgumentException.class, () -> Base45MultiPart.join(invalid, pool, threshold)).getMessage();
+                        assertTrue(msg, msg.startsWith("Failed in part " + (x + 1) + " of " + parts.length + ": "));
+                    }
+                }
+            }
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45MultiPart.split(new byte[10], Base45MultiPart.MIN_PART_CHARS - 1));
+        } finally {
+            pool.shutdown();
+        }
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    @Test
+    public void inPlaceEntryPointsTest() throws IOException {
+        System.out.println("In Place Entry Points\n------------");
+
+        for (int x=0; x<=10_000; x+=333) {
+            final byte[] inputArray = getTestBytes(x);
+            final String expectedStr = Base45.encode(inputArray);
+
+            //Encode without the String
+            assertArrayEquals(expectedStr.getBytes(StandardCharsets.US_ASCII), Base45.encodeToAscii(inputArray));
+            assertEquals(expectedStr, Base45.encodeTo(inputArray, new StringBuilder()).toString());
+            final java.io.StringWriter writer = new java.io.StringWriter();
+            writer.write("HC1:");
+            assertSame(writer, Base45.encodeTo(inputArray, writer));
+            assertEquals("HC1:" + expectedStr, writer.toString());
+
+            //Decode a range of chars in place
+            final String padded = "xx" + expectedStr + "yyy";
+            assertArrayEquals(inputArray, Base45.decode(padded, 2, expectedStr.length()));
+            assertArrayEquals(inputArray, Base45.decode(new StringBuilder(padded), 2, expectedStr.length()));
+            assertArrayEquals(inputArray, Base45.decode(padded.toCharArray(), 2, expectedStr.length()));
+        }
+
+        //Same checks & locations (relative to the range) as the other decoders
+        for (final String invalid : new String[] {"GGW", "BB8b", "BB8B", "BB8\u0141B", "BB8\u00c1B"}) {
+            final String expectedMsg = Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(invalid.getBytes(StandardCharsets.ISO_8859_1), 0, invalid.length(), new byte[4], 0)).getMessage();
+            if (invalid.indexOf('\u0141') < 0) {
+                assertEquals(expectedMsg, Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(("::" + invalid).toCharArray(), 2, invalid.length())).getMessage());
+            }
+            Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(":" + invalid, 1, invalid.length()));
+        }
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> Base45.decode("BB8", 1, 3));
+
+        //Log
+        System.out.println("Passed!");
+    }
+
+    //Parallel decoding must fail with exactly the message of the serial decoder
+    private static String assertParallelDecodeFails(final String input, final ForkJoinPool pool) {
+        final String expected = Assert.assertThrows(IllegalArgumentException.class, () -> Base45Codec.DEFAULT.decode(input)).getMessage();
+        assertEquals(expected, Assert.assertThrows(IllegalArgumentException.class, () -> Base45Parallel.decode(input, pool, 600)).getMessage());
+
+        final byte[] ascii = input.getBytes(StandardCharsets.ISO_8859_1);
+        final byte[] out = new byte[Base45.decodedLength(ascii.length)];
+        final String expectedBytes = Assert.assertThrows(IllegalArgumentException.class, () -> Base45.decode(ascii, 0, ascii.length, out, 0)).getMessage();
+        assertEquals(expectedBytes, Assert.assertThrows(IllegalArgumentException.class, () -> Base45Parallel.decode(ascii, 0, ascii.length, out, 0, pool, 600)).getMessage());
+        return expected;
+    }
+
+    /**
+     * Returns a few bytes per read(), and always reports 0 available(); like a slow socket.
+     */
+    private static class TrickleInputStream extends InputStream {
+        private final byte[] data;
+        private final Random rand;
+        private int pos = 0;
+
+        TrickleInputStream(final byte[] data, final Random rand) {
+            this.data = data;
+            this.rand = rand;
+        }
+
+        @Override
+        public int read() {
+            return pos < data.length ? data[pos++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (pos >= data.length) {
+                return -1;
+            }
+            final int n = Math.min(Math.min(len, data.length - pos), 1 + rand.nextInt(4));
+            System.arraycopy(data, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
+    }
+
     private static final Random rand = new Random(1234);
     public static byte[] getTestBytes(int numBytes) {
         final ByteArrayOutputStream bos = new ByteArrayOutputStream();
@@ -398,4 +1638,15 @@ public class Base45Test {
         }
         return bos.toByteArray();
     }
+
+    //Reads in small pieces, to exercise the carry over between reads
+    private static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final byte[] buf = new byte[100];
+        int n;
+        while ((n = in.read(buf)) >= 0) {
+            bos.write(buf, 0, n);
+        }
+        return bos.toByteArray();
+    }
 }
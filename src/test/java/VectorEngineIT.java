@@ -0,0 +1,119 @@
+import io.yurelle.Base45;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs against the packaged multi-release JAR (see the multi-release profile in pom.xml),
+ * with the jdk.incubator.vector module enabled; so the Java 17 SIMD engine is the one
+ * under test. Its results must be identical to the scalar engine's.
+ */
+public class VectorEngineIT {
+    @Test
+    public void vectorEngineEnabled() {
+        assertTrue("Expected the Java 17 versioned classes to be picked up from the JAR", Base45.isVectorEngineEnabled());
+    }
+
+    @Test
+    public void everyByteValueTest() {
+        //Each byte value, at every position of a vector, and in the scalar tail
+        for (int b=0; b<256; b++) {
+            for (int pos=0; pos<70; pos++) {
+                final byte[] input = new byte[pos + 1 + (pos % 7) * 3];
+                java.util.Arrays.fill(input, (byte) '0');
+                input[pos] = (byte) b;
+
+                final String inputStr = new String(input, java.nio.charset.StandardCharsets.ISO_8859_1);
+                assertEquals("Byte Value: " + b + " at: " + pos, Base45.validate(inputStr), Base45.validate(input, 0, input.length));
+            }
+        }
+    }
+
+    @Test
+    public void randomInputTest() throws IOException {
+        final Random rand = new Random(1234);
+        for (int x=0; x<2_000; x++) {
+            final byte[] payload = new byte[rand.nextInt(500)];
+            rand.nextBytes(payload);
+            final byte[] encoded = Base45.encode(payload).getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+
+            //Valid
+            assertEquals(payload.length, Base45.validate(encoded, 0, encoded.length));
+
+            //Corrupted
+            if (encoded.length > 0) {
+                encoded[rand.nextInt(encoded.length)] = (byte) rand.nextInt();
+                final String encodedStr = new String(encoded, java.nio.charset.StandardCharsets.ISO_8859_1);
+                assertEquals(Base45.validate(encodedStr), Base45.validate(encoded, 0, encoded.length));
+            }
+        }
+    }
+
+    @Test
+    public void decodeEveryByteValueTest() {
+        //Each byte value, at every position of the first 2 blocks of triplets (up to 2 x 96 chars on AVX-512), and in the scalar tail
+        for (int b=0; b<256; b++) {
+            for (int pos=0; pos<200; pos++) {
+                final byte[] input = new byte[210];
+                java.util.Arrays.fill(input, (byte) '0');
+                input[pos] = (byte) b;
+                assertSameDecode("Byte Value: " + b + " at: " + pos, input);
+            }
+        }
+    }
+
+    @Test
+    public void decodeOverflowTest() {
+        //Every triplet position; at the boundary ("FGW" is 0xFFFF, "GGW" is 0x10000), and well past it
+        for (final String triplet : new String[] {"FGW", "GGW", "00:", ":::"}) {
+            for (int t=0; t<70; t++) {
+                final byte[] input = new byte[210];
+                java.util.Arrays.fill(input, (byte) '0');
+                for (int x=0; x<3; x++) {
+                    input[t * 3 + x] = (byte) triplet.charAt(x);
+                }
+                assertSameDecode("Triplet: " + triplet + " at: " + (t * 3), input);
+            }
+        }
+    }
+
+    @Test
+    public void decodeRandomInputTest() throws IOException {
+        final Random rand = new Random(4321);
+        for (int x=0; x<2_000; x++) {
+            final byte[] payload = new byte[rand.nextInt(1_000)];
+            rand.nextBytes(payload);
+            final byte[] encoded = Base45.encode(payload).getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+            assertSameDecode("Valid: " + x, encoded);
+
+            if (encoded.length > 0) {
+                encoded[rand.nextInt(encoded.length)] = (byte) rand.nextInt();
+                assertSameDecode("Corrupted: " + x, encoded);
+            }
+        }
+    }
+
+    //The String decoder is always scalar
+    private static void assertSameDecode(final String label, final byte[] input) {
+        final String expected = decodeResult(() -> Base45.decode(new String(input, java.nio.charset.StandardCharsets.ISO_8859_1), 0, input.length));
+        assertEquals(label, expected, decodeResult(() -> {
+            final byte[] dst = new byte[Base45.decodedLength(input.length)];
+            return java.util.Arrays.copyOf(dst, Base45.decode(input, 0, input.length, dst, 0));
+        }));
+        assertEquals(label, expected, decodeResult(() -> {
+            final byte[] dst = new byte[Base45.decodedLength(input.length)];
+            return java.util.Arrays.copyOf(dst, Base45.decodeFast(input, 0, input.length, dst, 0));
+        }));
+    }
+
+    private static String decodeResult(final java.util.function.Supplier<byte[]> decoder) {
+        try {
+            return java.util.Arrays.toString(decoder.get());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+}